@@ -0,0 +1,191 @@
+package com.example.springbootclaseswagger.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga de /api/employees a un ritmo fijo de peticiones por segundo.
+ *
+ * Las peticiones se lanzan según un calendario fijo (bucle abierto) y la latencia se mide
+ * desde el instante en que la petición debía salir, no desde que sale, para que un servidor
+ * lento no oculte su propia cola (coordinated omission).
+ *
+ * Con connections=N se usa en cambio un bucle cerrado: N clientes concurrentes que lanzan la
+ * siguiente petición al recibir la respuesta. Sirve para comparar el throughput máximo de la
+ * aplicación con el pool de Tomcat y con hilos virtuales; aquí la latencia sí se mide desde el envío.
+ *
+ * Termina con código 1 si el p99 global supera maxP99Ms o la tasa de errores supera maxErrorRate.
+ */
+public class LoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    static final int MAX_IN_FLIGHT = 10000;
+    private static final double NANOS_PER_MS = 1_000_000D;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+        boolean passed = new LoadTest(config).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run() throws IOException, InterruptedException {
+        HttpResponse<String> ids = client.send(
+                HttpRequest.newBuilder(config.baseUrl.resolve("/api/employees?fields=id")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Workload workload = new Workload(config.baseUrl, config.mix, Workload.parseIds(ids.body()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+
+        if (config.connections > 0) {
+            for (int i = 0; i < config.connections; i++)
+                sendNext(workload, measureFrom, end);
+            // parkNanos puede volver antes de tiempo: se espera hasta que de verdad acabe la prueba
+            long remaining;
+            while ((remaining = end - System.nanoTime()) > 0)
+                LockSupport.parkNanos(remaining);
+        } else {
+            long interval = TimeUnit.SECONDS.toNanos(1) / config.rps;
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * interval;
+                if (intendedStart >= end)
+                    break;
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0)
+                    LockSupport.parkNanos(wait);
+                send(workload, workload.next(), intendedStart, intendedStart >= measureFrom);
+            }
+        }
+
+        // esperar a las peticiones pendientes
+        if (!inFlight.tryAcquire(MAX_IN_FLIGHT, 1, TimeUnit.MINUTES))
+            System.out.println("Some requests did not finish within 1 minute");
+        executor.shutdownNow();
+        return report(config.duration.toNanos());
+    }
+
+    // bucle cerrado: cada cliente lanza su siguiente petición al terminar la anterior
+    private void sendNext(Workload workload, long measureFrom, long end) {
+        long now = System.nanoTime();
+        if (now >= end)
+            return;
+        CompletableFuture<?> response = send(workload, workload.next(), now, now >= measureFrom);
+        if (response != null)
+            response.whenCompleteAsync((result, failure) -> sendNext(workload, measureFrom, end), executor);
+    }
+
+    private CompletableFuture<?> send(Workload workload, Operation operation, long intendedStart, boolean measured) {
+        if (!inFlight.tryAcquire()) {
+            if (measured)
+                errors.get(operation).incrementAndGet();
+            return null;
+        }
+        HttpRequest request = workload.request(operation);
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    inFlight.release();
+                    if (response != null)
+                        workload.onResponse(request, response);
+                    if (!measured)
+                        return;
+                    if (failure != null || response.statusCode() >= 500)
+                        errors.get(operation).incrementAndGet();
+                    recorders.get(operation).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                });
+    }
+
+    private boolean report(long durationNanos) throws IOException {
+        Files.createDirectories(config.reportDir);
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+
+        System.out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).get();
+            if (histogram.getTotalCount() == 0 && operationErrors == 0)
+                continue;
+            total.add(histogram);
+            totalErrors += operationErrors;
+            print(operation.key(), histogram, operationErrors, durationNanos);
+            write(operation.key(), histogram);
+        }
+        print("total", total, totalErrors, durationNanos);
+        write("total", total);
+
+        double p99 = total.getValueAtPercentile(99) / NANOS_PER_MS;
+        double errorRate = total.getTotalCount() == 0 ? 1 : (double) totalErrors / total.getTotalCount();
+        boolean passed = true;
+        if (config.maxP99Ms > 0 && p99 > config.maxP99Ms) {
+            System.out.printf("FAILED: p99 %.2f ms > %.2f ms%n", p99, config.maxP99Ms);
+            passed = false;
+        }
+        if (errorRate > config.maxErrorRate) {
+            System.out.printf("FAILED: error rate %.4f > %.4f%n", errorRate, config.maxErrorRate);
+            passed = false;
+        }
+        System.out.println("HDR histograms written to " + config.reportDir.toAbsolutePath());
+        return passed;
+    }
+
+    private static void print(String name, Histogram histogram, long errors, long durationNanos) {
+        System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / (durationNanos / 1e9),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MS,
+                histogram.getMaxValue() / NANOS_PER_MS);
+    }
+
+    private void write(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.reportDir.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MS);
+        }
+    }
+}
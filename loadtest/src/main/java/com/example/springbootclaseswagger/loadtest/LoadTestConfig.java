@@ -0,0 +1,76 @@
+package com.example.springbootclaseswagger.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, como argumentos clave=valor:
+ *
+ * baseUrl=http://localhost:8080  rps=200  duration=30  warmup=5  (segundos)
+ * connections=0  (mayor que 0: bucle cerrado, ese número de clientes concurrentes lanzando
+ *                 peticiones sin pausa, y se ignora rps; para medir throughput máximo)
+ * mix=read:60,filter:25,create:5,update:5,delete:5  (pesos relativos)
+ * maxP99Ms=0  maxErrorRate=0.01  (0 desactiva el límite de p99)
+ * reportDir=target/loadtest
+ */
+final class LoadTestConfig {
+
+    final URI baseUrl;
+    final int rps;
+    final int connections;
+    final Duration duration;
+    final Duration warmup;
+    final Map<Operation, Integer> mix;
+    final double maxP99Ms;
+    final double maxErrorRate;
+    final Path reportDir;
+
+    private LoadTestConfig(Map<String, String> values) {
+        this.baseUrl = URI.create(values.getOrDefault("baseUrl", "http://localhost:8080"));
+        this.rps = Integer.parseInt(values.getOrDefault("rps", "200"));
+        this.connections = Integer.parseInt(values.getOrDefault("connections", "0"));
+        this.duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5")));
+        this.mix = parseMix(values.getOrDefault("mix", "read:60,filter:25,create:5,update:5,delete:5"));
+        this.maxP99Ms = Double.parseDouble(values.getOrDefault("maxP99Ms", "0"));
+        this.maxErrorRate = Double.parseDouble(values.getOrDefault("maxErrorRate", "0.01"));
+        this.reportDir = Path.of(values.getOrDefault("reportDir", "target/loadtest"));
+
+        if (rps < 1)
+            throw new IllegalArgumentException("rps must be positive");
+        if (connections < 0 || connections > LoadTest.MAX_IN_FLIGHT)
+            throw new IllegalArgumentException("connections must be between 0 and " + LoadTest.MAX_IN_FLIGHT);
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1)
+                throw new IllegalArgumentException("Expected key=value argument, got '" + arg + "'");
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split(":");
+            if (weight.length != 2)
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation:weight");
+            weights.put(Operation.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return "baseUrl=" + baseUrl + (connections > 0 ? ", connections=" + connections : ", rps=" + rps) + ", duration=" + duration.getSeconds() + "s" +
+                ", warmup=" + warmup.getSeconds() + "s, mix=" + mix;
+    }
+}
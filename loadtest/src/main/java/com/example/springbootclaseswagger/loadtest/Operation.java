@@ -0,0 +1,31 @@
+package com.example.springbootclaseswagger.loadtest;
+
+/**
+ * Tipos de petición que genera la prueba de carga
+ */
+enum Operation {
+
+    READ("read"),        // GET /api/employees/{id}
+    FILTER("filter"),    // GET /api/employees/married/{married} y /api/employees/age-greater/{age}
+    CREATE("create"),    // POST /api/employees
+    UPDATE("update"),    // PUT /api/employees
+    DELETE("delete");    // DELETE /api/employees/{id}
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key))
+                return operation;
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "', expected read, filter, create, update or delete");
+    }
+}
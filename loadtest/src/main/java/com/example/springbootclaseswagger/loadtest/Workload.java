@@ -0,0 +1,122 @@
+package com.example.springbootclaseswagger.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Construye las peticiones de cada operación.
+ *
+ * Las lecturas usan los empleados que ya existían al empezar; las actualizaciones y borrados
+ * solo tocan empleados creados por la propia prueba para no alterar los datos de partida.
+ */
+final class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final URI baseUrl;
+    private final Operation[] schedule;
+    private final long[] existingIds;
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    Workload(URI baseUrl, Map<Operation, Integer> mix, long[] existingIds) {
+        this.baseUrl = baseUrl;
+        this.existingIds = existingIds;
+
+        // una entrada por unidad de peso: elegir operación es un acceso aleatorio al array
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.schedule = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++)
+                schedule[index++] = weight.getKey();
+        }
+    }
+
+    static long[] parseIds(String json) {
+        Matcher matcher = ID.matcher(json);
+        return matcher.results().mapToLong(result -> Long.parseLong(result.group(1))).toArray();
+    }
+
+    Operation next() {
+        Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+        if ((operation == Operation.UPDATE || operation == Operation.DELETE) && createdIds.isEmpty())
+            return Operation.CREATE;
+        if ((operation == Operation.READ || operation == Operation.FILTER) && existingIds.length == 0)
+            return Operation.CREATE;
+        return operation;
+    }
+
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case READ:
+                return get("/api/employees/" + existingIds[random.nextInt(existingIds.length)]);
+            case FILTER:
+                return random.nextBoolean()
+                        ? get("/api/employees/married/" + random.nextBoolean())
+                        : get("/api/employees/age-greater/" + (18 + random.nextInt(82)));
+            case CREATE:
+                return json("/api/employees", "POST", employeeJson(null));
+            case UPDATE: {
+                Long id = createdIds.peekLast();
+                if (id != null)
+                    return json("/api/employees", "PUT", employeeJson(id));
+                return json("/api/employees", "POST", employeeJson(null));
+            }
+            case DELETE: {
+                Long id = createdIds.pollFirst();
+                if (id != null)
+                    return builder("/api/employees/" + id).DELETE().build();
+                return get("/api/employees/" + existingIds[random.nextInt(existingIds.length)]);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    void onResponse(HttpRequest request, HttpResponse<String> response) {
+        if (request.method().equals("POST") && response.statusCode() == 201) {
+            Matcher id = ID.matcher(response.body());
+            if (id.find())
+                createdIds.addLast(Long.parseLong(id.group(1)));
+        }
+    }
+
+    private String employeeJson(Long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long n = sequence.incrementAndGet();
+        return "{" + (id != null ? "\"id\":" + id + "," : "") +
+                "\"name\":\"Load " + n + "\"," +
+                "\"email\":\"load-" + runId + "-" + n + "@loadtest.com\"," +
+                "\"married\":" + random.nextBoolean() + "," +
+                "\"age\":" + (18 + random.nextInt(82)) + "," +
+                "\"country\":\"Spain\"," +
+                "\"yearsInCompany\":" + random.nextInt(40) + "}";
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, String body) {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(TIMEOUT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springbootclaseswagger.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Versión reactiva (WebFlux + R2DBC) de /api/employees.
+ * Misma API que EmployeeController para lecturas, filtros y CRUD; no incluye proyecciones, cursores,
+ * PATCH ni el cálculo de salarios.
+ */
+@SpringBootApplication
+public class ReactiveEmployeesApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveEmployeesApplication.class, args);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.springbootclaseswagger.reactive.controller;
+
+import com.example.springbootclaseswagger.reactive.model.Employee;
+import com.example.springbootclaseswagger.reactive.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+/**
+ * Equivalente reactivo de EmployeeController. Ningún método bloquea: las consultas devuelven
+ * Flux/Mono de R2DBC y WebFlux los escribe según el cliente va leyendo.
+ */
+@Component
+public class EmployeeHandler {
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeHandler.class);
+
+    private static final String HAS_NEXT_HEADER = "X-Has-Next";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 1000;
+    // filas que se piden a la base de datos cada vez que el cliente de /stream consume las anteriores
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final EmployeeRepository repository;
+    private final R2dbcEntityTemplate template;
+
+    public EmployeeHandler(EmployeeRepository repository, R2dbcEntityTemplate template) {
+        this.repository = repository;
+        this.template = template;
+    }
+
+    public Mono<ServerResponse> findEmployees(ServerRequest request) {
+        log.debug("REST request to find all employees");
+        return ServerResponse.ok().body(repository.findAll(BY_ID), Employee.class);
+    }
+
+    /**
+     * NDJSON, un empleado por línea. La demanda del cliente HTTP llega hasta el cursor de R2DBC:
+     * si el cliente lee despacio no se piden más filas, sin acumular la tabla en memoria
+     */
+    public Mono<ServerResponse> streamEmployees(ServerRequest request) {
+        log.debug("REST request to stream all employees");
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(repository.findAll(BY_ID).limitRate(STREAM_FETCH_SIZE), Employee.class);
+    }
+
+    public Mono<ServerResponse> findOne(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        log.debug("REST request to find one employee by id: {}", id);
+        return repository.findById(id)
+                .flatMap(employee -> withETag(request, employee))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> findByEmail(ServerRequest request) {
+        String email = request.pathVariable("email");
+        log.debug("REST request to find one employee by email: {}", email);
+        return repository.findByEmail(email)
+                .flatMap(employee -> withETag(request, employee))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> filterByMarried(ServerRequest request) {
+        Boolean married = Boolean.valueOf(request.pathVariable("married"));
+        log.debug("Filter all employees by married status: {}", married);
+        return slice(request, where("married").is(married));
+    }
+
+    public Mono<ServerResponse> filterByAgeGreater(ServerRequest request) {
+        Integer age = Integer.valueOf(request.pathVariable("age"));
+        log.debug("REST request to filter employees by age: {}", age);
+        return slice(request, where("age").greaterThan(age));
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+        return request.bodyToMono(Employee.class).flatMap(employee -> {
+            log.debug("REST request to save an Employee: {} ", employee);
+            if (employee.getId() != null)
+                return ServerResponse.badRequest().build();
+            employee.setVersion(null);
+
+            Mono<Boolean> duplicated = employee.getEmail() != null
+                    ? repository.existsByEmail(employee.getEmail()) : Mono.just(false);
+            return duplicated.flatMap(exists -> exists
+                    ? ServerResponse.status(HttpStatus.CONFLICT).build() // email único
+                    : repository.save(employee).flatMap(saved -> ServerResponse
+                            .created(URI.create("/api/employees/" + saved.getId()))
+                            .eTag(eTag(saved))
+                            .bodyValue(saved)));
+        });
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        Long ifMatch = ifMatchVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return request.bodyToMono(Employee.class).flatMap(employee -> {
+            log.debug("REST request to update an Employee: {}", employee);
+            if (employee.getId() == null)
+                return ServerResponse.badRequest().build();
+
+            Mono<Boolean> duplicated = employee.getEmail() != null
+                    ? repository.existsByEmailAndIdNot(employee.getEmail(), employee.getId()) : Mono.just(false);
+            return duplicated.flatMap(exists -> exists
+                    ? ServerResponse.status(HttpStatus.CONFLICT).build() // email único
+                    : repository.findById(employee.getId())
+                    .flatMap(current -> {
+                        if (ifMatch != null)
+                            employee.setVersion(ifMatch);
+                        else if (employee.getVersion() == null)
+                            employee.setVersion(current.getVersion()); // clientes sin versión: gana la última escritura
+                        return repository.save(employee);
+                    })
+                    .flatMap(saved -> ServerResponse.ok().eTag(eTag(saved)).bodyValue(saved))
+                    .onErrorResume(OptimisticLockingFailureException.class, e -> ServerResponse
+                            .status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build())
+                    .switchIfEmpty(ServerResponse.notFound().build()));
+        });
+    }
+
+    // un solo DELETE por id (y versión con If-Match), sin leer antes el empleado
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        Long version = ifMatchVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        log.debug("REST request to delete an employee by id {}", id);
+        Criteria criteria = where("id").is(id);
+        if (version != null)
+            criteria = criteria.and("version").is(version);
+        return template.delete(Employee.class)
+                .matching(Query.query(criteria))
+                .all()
+                .flatMap(deleted -> {
+                    if (deleted > 0)
+                        return ServerResponse.noContent().build();
+                    return version != null ? conditionalFailure(id) : ServerResponse.notFound().build();
+                });
+    }
+
+    // igual que en EmployeeController: borra los que cumplen los filtros, o todos si no hay filtros
+    public Mono<ServerResponse> deleteEmployees(ServerRequest request) {
+        Boolean married;
+        Integer ageAfter;
+        try {
+            married = request.queryParam("married").map(EmployeeHandler::parseBoolean).orElse(null);
+            ageAfter = request.queryParam("ageAfter").map(Integer::valueOf).orElse(null);
+        } catch (IllegalArgumentException e) { // también NumberFormatException
+            return ServerResponse.badRequest().build();
+        }
+        log.debug("REST request to delete employees, married: {}, ageAfter: {}", married, ageAfter);
+
+        Criteria criteria = Criteria.empty();
+        if (married != null)
+            criteria = criteria.and("married").is(married);
+        if (ageAfter != null)
+            criteria = criteria.and("age").greaterThan(ageAfter);
+        return template.delete(Employee.class).matching(Query.query(criteria)).all()
+                .flatMap(deleted -> ServerResponse.ok().bodyValue(deleted));
+    }
+
+    // página de page/size ordenada por id; una fila de más para X-Has-Next sin COUNT(*)
+    private Mono<ServerResponse> slice(ServerRequest request, Criteria criteria) {
+        int page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+        int size = Math.min(request.queryParam("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        if (page < 0 || size < 1)
+            return ServerResponse.badRequest().build();
+
+        Flux<Employee> rows = template.select(Employee.class)
+                .matching(Query.query(criteria).sort(BY_ID).offset((long) page * size).limit(size + 1))
+                .all();
+        return rows.collectList().flatMap(employees -> {
+            if (employees.isEmpty())
+                return ServerResponse.notFound().build();
+            boolean hasNext = employees.size() > size;
+            List<Employee> content = hasNext ? employees.subList(0, size) : employees;
+            return ServerResponse.ok()
+                    .header(HAS_NEXT_HEADER, String.valueOf(hasNext))
+                    .bodyValue(content);
+        });
+    }
+
+    // el DELETE condicional no borró nada: 412 si el empleado existe con otra versión, 404 si no existe
+    private Mono<ServerResponse> conditionalFailure(Long id) {
+        return repository.existsById(id).flatMap(exists -> exists
+                ? ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build()
+                : ServerResponse.notFound().build());
+    }
+
+    // con If-None-Match igual a la versión responde 304 sin serializar el empleado
+    private static Mono<ServerResponse> withETag(ServerRequest request, Employee employee) {
+        String eTag = eTag(employee);
+        return request.checkNotModified(eTag)
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag).bodyValue(employee)));
+    }
+
+    private static String eTag(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    // solo true o false: cualquier otro valor es un 400, no un false
+    private static Boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false"))
+            throw new IllegalArgumentException("Not a boolean: " + value);
+        return Boolean.valueOf(value);
+    }
+
+    // igual que en EmployeeController: null sin If-Match o con "*", -1 si no es un ETag de versión
+    private static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // no es un ETag de este servicio
+            }
+        }
+        return -1L;
+    }
+}
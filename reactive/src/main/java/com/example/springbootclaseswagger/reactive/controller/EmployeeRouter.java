@@ -0,0 +1,31 @@
+package com.example.springbootclaseswagger.reactive.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Rutas de /api/employees; las rutas fijas van antes que /{id}
+ */
+@Configuration
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/employees", employees -> employees
+                        .GET("", handler::findEmployees)
+                        .GET("/stream", handler::streamEmployees)
+                        .GET("/email/{email}", handler::findByEmail)
+                        .GET("/married/{married}", handler::filterByMarried)
+                        .GET("/age-greater/{age}", handler::filterByAgeGreater)
+                        .GET("/{id}", handler::findOne)
+                        .POST("", handler::createEmployee)
+                        .PUT("", handler::updateEmployee)
+                        .DELETE("/{id}", handler::deleteEmployee)
+                        .DELETE("", handler::deleteEmployees))
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.springbootclaseswagger.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("employees")
+public class Employee {
+
+    // atributos
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private Boolean married;
+
+    private Integer age;
+
+    private String country;
+
+    private Double salary;
+
+    @Column("years_in_company")
+    private Integer yearsInCompany;
+
+    @Version
+    private Long version;
+
+    public Employee() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getMarried() {
+        return married;
+    }
+
+    public void setMarried(Boolean married) {
+        this.married = married;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Double salary) {
+        this.salary = salary;
+    }
+
+    public Integer getYearsInCompany() {
+        return yearsInCompany;
+    }
+
+    public void setYearsInCompany(Integer yearsInCompany) {
+        this.yearsInCompany = yearsInCompany;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "Employee{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", married=" + married +
+                ", age=" + age +
+                ", country='" + country + '\'' +
+                ", salary=" + salary +
+                ", yearsInCompany=" + yearsInCompany +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springbootclaseswagger.reactive.repository;
+
+import com.example.springbootclaseswagger.reactive.model.Employee;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface EmployeeRepository extends ReactiveSortingRepository<Employee, Long> {
+
+    Mono<Employee> findByEmail(String email);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Mono<Boolean> existsByEmailAndIdNot(String email, Long id);
+}
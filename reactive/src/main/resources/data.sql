@@ -0,0 +1,5 @@
+INSERT INTO employees (name, email, age, married, country, years_in_company, version) values ('Mike1', 'mike@mike.com', 15, 1, 'Spain', 11, 0);
+INSERT INTO employees (name, email, age, married, country, years_in_company, version) values ('Mike2', 'farin@mike.com', 35, 1, 'Spain', 3, 0);
+INSERT INTO employees (name, email, age, married, country, years_in_company, version) values ('Mike3', 'mike3@mike.com', 20, 0, 'Spain', 16, 0);
+INSERT INTO employees (name, email, age, married, country, years_in_company, version) values ('Mike4', 'mike4@mike.com', 70, 1, 'Spain', 21, 0);
+INSERT INTO employees (name, email, age, married, country, version) values ('Mike5', 'mike5@mike.com', 99, 0, 'Spain', 0);
\ No newline at end of file
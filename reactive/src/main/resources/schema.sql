@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    married BOOLEAN,
+    age INT,
+    country VARCHAR(255),
+    salary DOUBLE,
+    years_in_company INT,
+    version BIGINT NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_employees_email ON employees (email);
+CREATE INDEX IF NOT EXISTS idx_employees_married ON employees (married);
+CREATE INDEX IF NOT EXISTS idx_employees_age ON employees (age);
+CREATE INDEX IF NOT EXISTS idx_employees_married_age ON employees (married, age);
@@ -0,0 +1,166 @@
+package com.example.springbootclaseswagger.reactive;
+
+import com.example.springbootclaseswagger.reactive.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// mismo contexto que ReactiveEmployeesApplicationTests: otro contexto volvería a cargar data.sql en la misma base de datos
+@SpringBootTest
+class EmployeeHandlerTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void bindClient() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    // READ
+
+    @Test
+    void unchangedEmployeeIsNotModified() {
+        long id = create("reactive-get@example.com", 30, true);
+
+        client.get().uri("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\"").exchange()
+                .expectStatus().isNotModified();
+        client.get().uri("/api/employees/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.email").isEqualTo("reactive-get@example.com");
+        client.get().uri("/api/employees/email/{email}", "reactive-get@example.com").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(id);
+        client.get().uri("/api/employees/{id}", -1).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void filtersArePagedWithoutCount() {
+        client.get().uri("/api/employees/age-greater/{age}?size=1", 10).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Has-Next", "true")
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+        client.get().uri("/api/employees/married/true?page=-1").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/employees/age-greater/{age}", 10_000).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void streamIsNdjson() {
+        client.get().uri("/api/employees/stream").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    // WRITE
+
+    @Test
+    void emailIsUnique() {
+        create("reactive-unique@example.com", 30, true);
+
+        client.post().uri("/api/employees").bodyValue(Map.of("name", "Otro", "email", "reactive-unique@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void putWithStaleVersion() {
+        long id = create("reactive-put@example.com", 30, true);
+        Map<String, Object> employee = Map.of("id", id, "name", "Patricio", "email", "reactive-put@example.com");
+
+        client.put().uri("/api/employees").header(HttpHeaders.IF_MATCH, "\"7\"").bodyValue(employee).exchange()
+                .expectStatus().isEqualTo(412);
+        client.put().uri("/api/employees").header(HttpHeaders.IF_MATCH, "\"0\"").bodyValue(employee).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.name").isEqualTo("Patricio");
+    }
+
+    // DELETE
+
+    @Test
+    void deleteWithIfMatch() {
+        long id = create("reactive-delete@example.com", 30, true);
+
+        client.delete().uri("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"1\"").exchange()
+                .expectStatus().isEqualTo(412);
+        client.delete().uri("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"0\"").exchange()
+                .expectStatus().isEqualTo(412);
+        client.delete().uri("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"").exchange()
+                .expectStatus().isNoContent();
+
+        client.get().uri("/api/employees/{id}", id).exchange()
+                .expectStatus().isNotFound();
+        client.delete().uri("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"").exchange()
+                .expectStatus().isNotFound();
+        client.delete().uri("/api/employees/{id}", id).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteEmployeesAppliesTheFilters() {
+        // edades por encima de las de data.sql: los filtros solo alcanzan a estos empleados
+        long marriedOld = create("reactive-filter1@example.com", 300, true);
+        long singleOld = create("reactive-filter2@example.com", 300, false);
+        long marriedYoung = create("reactive-filter3@example.com", 250, true);
+
+        deleteEmployees("?married=true&ageAfter=260", 1);
+        exists(marriedOld, false);
+        exists(singleOld, true);
+        exists(marriedYoung, true);
+
+        deleteEmployees("?ageAfter=240", 2);
+        exists(singleOld, false);
+        exists(marriedYoung, false);
+
+        client.get().uri("/api/employees/email/{email}", "mike5@mike.com").exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void invalidDeleteFiltersAreRejected() {
+        client.delete().uri("/api/employees?married=maybe").exchange()
+                .expectStatus().isBadRequest();
+        client.delete().uri("/api/employees?ageAfter=old").exchange()
+                .expectStatus().isBadRequest();
+
+        client.get().uri("/api/employees/email/{email}", "mike5@mike.com").exchange()
+                .expectStatus().isOk();
+    }
+
+    private void deleteEmployees(String filters, int expected) {
+        client.delete().uri("/api/employees" + filters).exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(expected);
+    }
+
+    private void exists(long id, boolean expected) {
+        client.get().uri("/api/employees/{id}", id).exchange()
+                .expectStatus().isEqualTo(expected ? 200 : 404);
+    }
+
+    private long create(String email, int age, boolean married) {
+        Employee employee = client.post().uri("/api/employees")
+                .bodyValue(Map.of("name", "Patricio Estrella", "email", email, "age", age, "married", married))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(Employee.class).returnResult().getResponseBody();
+        assertThat(employee).isNotNull();
+        return employee.getId();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.springbootclaseswagger.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ReactiveEmployeesApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.springbootclaseswagger.benchmark;
+
+import com.example.springbootclaseswagger.model.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos de prueba deterministas para los benchmarks
+ */
+final class BenchmarkData {
+
+    static final String[] COUNTRIES = {"Spain", "France", "Portugal", "Italy", "Germany"};
+
+    private static final int INSERT_BATCH = 1000;
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(int i, SplittableRandom random) {
+        Employee employee = new Employee("Employee " + i,
+                "employee" + i + "@bench.com",
+                random.nextBoolean(),
+                18 + random.nextInt(82),
+                COUNTRIES[random.nextInt(COUNTRIES.length)],
+                20000D + random.nextInt(60000));
+        employee.setYearsInCompany(random.nextInt(40));
+        return employee;
+    }
+
+    static List<Employee> employees(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = employee(i, random);
+            employee.setId((long) i + 1);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Inserts rows employees with JDBC batches, bypassing JPA
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            Employee employee = employee(i, random);
+            batch.add(new Object[]{employee.getName(), employee.getEmail(), employee.getMarried(), employee.getAge(),
+                    employee.getCountry(), employee.getSalary(), employee.getYearsInCompany()});
+            if (batch.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, married, age, country, salary, years_in_company, version)" +
+                        " values (NEXT VALUE FOR employees_seq, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.springbootclaseswagger.benchmark;
+
+import com.example.springbootclaseswagger.SpringbootClaseSwaggerApplication;
+import com.example.springbootclaseswagger.model.Employee;
+import com.example.springbootclaseswagger.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de EmployeeRepository contra H2 en memoria con rows empleados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EmployeeRepositoryBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository repository;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(SpringbootClaseSwaggerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.initialization-mode=never",
+                        "--debug=false",
+                        "--logging.level.root=warn");
+        repository = context.getBean(EmployeeRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.seed(jdbcTemplate, rows);
+        ids = jdbcTemplate.queryForList("select id from employees", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return repository.findByEmail("employee" + ThreadLocalRandom.current().nextInt(rows) + "@bench.com");
+    }
+
+    @Benchmark
+    public Slice<Employee> findByMarriedPage() {
+        return repository.findByMarried(ThreadLocalRandom.current().nextBoolean(), PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public List<Employee> findAllByAgeAfter() {
+        // edades uniformes entre 18 y 99: ~5% de las filas
+        return repository.findAllByAgeAfter(95);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springbootclaseswagger.benchmark;
+
+import com.example.springbootclaseswagger.config.JacksonConfig;
+import com.example.springbootclaseswagger.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de listas de empleados como la hacen los endpoints de listado,
+ * con el ObjectMapper por defecto de Spring Boot y con el de JacksonConfig (Afterburner).
+ * Los dos omiten las propiedades nulas (@JsonInclude en Employee), así que el JSON es el mismo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper tunedObjectMapper;
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // mismo ObjectMapper por defecto que configura Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Jackson2ObjectMapperBuilder tuned = Jackson2ObjectMapperBuilder.json();
+        JacksonConfig.tune(tuned);
+        tunedObjectMapper = tuned.build();
+        employees = BenchmarkData.employees(size);
+        // como en data.sql: sin salario hasta calcularlo y algunos sin antigüedad
+        for (Employee employee : employees) {
+            if (employee.getId() % 2 == 0)
+                employee.setSalary(null);
+            if (employee.getId() % 5 == 0)
+                employee.setYearsInCompany(null);
+        }
+
+        System.out.printf("%n%d employees: %d bytes%n", size, objectMapper.writeValueAsBytes(employees).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeTuned() throws JsonProcessingException {
+        return tunedObjectMapper.writeValueAsBytes(employees);
+    }
+}
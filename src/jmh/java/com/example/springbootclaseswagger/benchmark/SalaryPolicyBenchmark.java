@@ -0,0 +1,58 @@
+package com.example.springbootclaseswagger.benchmark;
+
+import com.example.springbootclaseswagger.model.SalaryTable;
+import com.example.springbootclaseswagger.service.SalaryPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de salario de un lote de empleados con SalaryPolicy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaryPolicyBenchmark {
+
+    private static final int EMPLOYEES = 1024;
+
+    private SalaryPolicy policy;
+    private SalaryTable table;
+    private int[] years;
+    private String[] countries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        policy = new SalaryPolicy(new ClassPathResource("salary-policy.properties"));
+        table = policy.defaultTable();
+
+        SplittableRandom random = new SplittableRandom(42);
+        years = new int[EMPLOYEES];
+        countries = new String[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            years[i] = random.nextInt(40);
+            countries[i] = BenchmarkData.COUNTRIES[random.nextInt(BenchmarkData.COUNTRIES.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public void salaryTable(Blackhole blackhole) {
+        for (int i = 0; i < EMPLOYEES; i++)
+            blackhole.consume(table.salaryFor(years[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public void salaryPolicyByCountry(Blackhole blackhole) {
+        for (int i = 0; i < EMPLOYEES; i++)
+            blackhole.consume(policy.salaryFor(countries[i], years[i]));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.springbootclaseswagger.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Réplica de lectura, activa solo si está configurado employees.datasource.replica.url.
+ *
+ * spring.datasource.* sigue siendo el primario; employees.datasource.replica.* (url, username, password,
+ * hikari.*) es la réplica. Las transacciones de solo lectura de EmployeeRepository van a la réplica
+ * mientras su retraso no pase de employees.datasource.replica.max-lag (ver ReadWriteRoutingDataSource).
+ *
+ * El retraso se mide cada employees.datasource.replica.lag-check-interval con lag-query, una consulta
+ * que devuelve los segundos de retraso (en PostgreSQL, por ejemplo,
+ * select extract(epoch from now() - pg_last_xact_replay_timestamp())). Sin lag-query se considera 0.
+ */
+@Configuration
+@ConditionalOnProperty("employees.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties,
+                                                 Environment environment,
+                                                 @Value("${employees.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                 MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(properties, binder, "spring.datasource.hikari", "primary", meterRegistry);
+        DataSourceProperties replicaProperties = binder
+                .bind("employees.datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource replica = pool(replicaProperties, binder, "employees.datasource.replica.hikari", "replica", meterRegistry);
+        return new ReadWriteRoutingDataSource(primary, replica, maxLag, meterRegistry);
+    }
+
+    // devolver la conexión al acabar cada transacción, para que la siguiente pueda ir a otro pool
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource dataSource,
+                                               @Value("${employees.datasource.replica.lag-query:}") String lagQuery) {
+        return new ReplicaLagMonitor(new JdbcTemplate(dataSource.getReplica()), dataSource, lagQuery);
+    }
+
+    // Spring Boot solo instrumenta los pools que son beans: las métricas hikaricp.* se registran aquí
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String prefix,
+                                         String poolName, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix, Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
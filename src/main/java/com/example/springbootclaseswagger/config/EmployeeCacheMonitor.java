@@ -0,0 +1,74 @@
+package com.example.springbootclaseswagger.config;
+
+import com.example.springbootclaseswagger.model.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+
+/**
+ * Al arrancar comprueba que la región de segundo nivel de Employee tiene la configuración de
+ * application.conf (si no, Hibernate la crea con los valores por defecto de Caffeine, sin límite)
+ * y publica sus aciertos/fallos en Micrometer: cache.gets{result=hit|miss}, cache.puts, cache.removals.
+ */
+@Component
+@DependsOn("entityManagerFactory") // la región la crea Hibernate al construir el EntityManagerFactory
+public class EmployeeCacheMonitor implements ApplicationRunner {
+
+    public static final String REGION = Employee.CACHE_REGION;
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeCacheMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public EmployeeCacheMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Cache<Object, Object> cache = cache();
+        CaffeineConfiguration<?, ?> configuration = configuration();
+        if (configuration.getMaximumSize().isEmpty())
+            throw new IllegalStateException("Second-level cache region " + REGION
+                    + " has no maximum size, check caffeine.jcache in application.conf");
+
+        log.info("Second-level cache region {}: maximum size {}, expire after write {}", REGION,
+                configuration.getMaximumSize().getAsLong(),
+                configuration.getExpireAfterWrite().isPresent()
+                        ? Duration.ofNanos(configuration.getExpireAfterWrite().getAsLong()) : "never");
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+
+    /**
+     * @return configuration the Employee region was created with
+     */
+    public CaffeineConfiguration<?, ?> configuration() {
+        // getConfiguration pide una clase de Configuration<Object, Object> y un literal de clase no puede
+        // llevar parámetros de tipo: el cast es seguro porque la región guarda Object -> Object
+        @SuppressWarnings("unchecked")
+        Class<CaffeineConfiguration<Object, Object>> type =
+                (Class<CaffeineConfiguration<Object, Object>>) (Class<?>) CaffeineConfiguration.class;
+        return cache().getConfiguration(type);
+    }
+
+    // mismo CacheManager que usa Hibernate: proveedor de hibernate.javax.cache.provider, URI por defecto
+    private Cache<Object, Object> cache() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        Cache<Object, Object> cache = cacheManager.getCache(REGION);
+        if (cache == null)
+            throw new IllegalStateException("Second-level cache region " + REGION + " not found in " + cacheManager.getURI());
+        return cache;
+    }
+}
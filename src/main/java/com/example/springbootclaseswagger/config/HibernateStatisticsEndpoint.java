@@ -0,0 +1,61 @@
+package com.example.springbootclaseswagger.config;
+
+import com.example.springbootclaseswagger.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/hibernate -- estadísticas de Hibernate (hibernate.generate_statistics=true)
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("startTime", statistics.getStartTime());
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("connectionsObtained", statistics.getConnectCount());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("entityInserts", statistics.getEntityInsertCount());
+        result.put("entityUpdates", statistics.getEntityUpdateCount());
+        result.put("entityDeletes", statistics.getEntityDeleteCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        result.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+
+        CacheRegionStatistics employeeRegion = statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION);
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("hits", employeeRegion.getHitCount());
+        region.put("misses", employeeRegion.getMissCount());
+        region.put("puts", employeeRegion.getPutCount());
+        // la región JCache no sabe cuántos elementos tiene y devuelve un valor negativo
+        if (employeeRegion.getElementCountInMemory() >= 0)
+            region.put("elementsInMemory", employeeRegion.getElementCountInMemory());
+        result.put("employeeCacheRegion", region);
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.springbootclaseswagger.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajusta el maximumPoolSize de los pools de Hikari de EmployeeRepository entre
+ * employees.datasource.adaptive-pool.min-size y max-size según lo que tardan en conseguir conexión.
+ *
+ * Cada employees.datasource.adaptive-pool.interval mira las métricas hikaricp.connections.acquire
+ * y hikaricp.connections.timeout del intervalo y los hilos esperando conexión:
+ * - si hay hilos esperando, timeouts o la espera media pasa de acquire-target, el pool crece;
+ * - si no hay esperas y se usa menos de la mitad del pool durante shrink-after comprobaciones seguidas, decrece.
+ *
+ * Hikari abre las conexiones nuevas bajo demanda y cierra las sobrantes cuando llevan idle-timeout
+ * sin usarse, siempre que minimum-idle sea menor que el tamaño del pool. El tamaño actual se ve
+ * en la métrica hikaricp.connections.max.
+ */
+@Component
+@ConditionalOnProperty("employees.datasource.adaptive-pool.enabled")
+public class HikariPoolSizer {
+
+    private final Logger log = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final List<PoolState> pools = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final double acquireTargetMillis;
+    private final int shrinkAfter;
+
+    public HikariPoolSizer(DataSource dataSource,
+                           MeterRegistry meterRegistry,
+                           @Value("${employees.datasource.adaptive-pool.min-size:4}") int minSize,
+                           @Value("${employees.datasource.adaptive-pool.max-size:40}") int maxSize,
+                           @Value("${employees.datasource.adaptive-pool.step:2}") int step,
+                           @Value("${employees.datasource.adaptive-pool.acquire-target:10ms}") Duration acquireTarget,
+                           @Value("${employees.datasource.adaptive-pool.shrink-after:6}") int shrinkAfter) {
+        if (minSize < 1 || maxSize < minSize)
+            throw new IllegalArgumentException("employees.datasource.adaptive-pool needs 1 <= min-size <= max-size");
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = Math.max(1, step);
+        this.acquireTargetMillis = acquireTarget.toNanos() / 1_000_000D;
+        this.shrinkAfter = shrinkAfter;
+
+        if (dataSource instanceof ReadWriteRoutingDataSource) {
+            pools.add(new PoolState(((ReadWriteRoutingDataSource) dataSource).getPrimary()));
+            pools.add(new PoolState(((ReadWriteRoutingDataSource) dataSource).getReplica()));
+        } else if (dataSource instanceof HikariDataSource) {
+            pools.add(new PoolState((HikariDataSource) dataSource));
+        } else {
+            log.warn("Adaptive pool sizing disabled, {} is not a Hikari pool", dataSource.getClass().getName());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.datasource.adaptive-pool.interval:5000}")
+    public void resize() {
+        pools.forEach(this::resize);
+    }
+
+    private void resize(PoolState state) {
+        HikariPoolMXBean pool = state.dataSource.getHikariPoolMXBean();
+        if (pool == null)
+            return; // el pool todavía no ha arrancado
+        HikariConfigMXBean config = state.dataSource.getHikariConfigMXBean();
+
+        int size = config.getMaximumPoolSize();
+        int waiting = pool.getThreadsAwaitingConnection();
+        double timeouts = state.timeoutsSinceLastCheck();
+        double acquireMillis = state.acquireMillisSinceLastCheck();
+
+        int newSize = size;
+        if (waiting > 0 || timeouts > 0 || acquireMillis > acquireTargetMillis) {
+            newSize = Math.min(maxSize, size + Math.max(step, waiting));
+            state.quietChecks = 0;
+        } else if (pool.getActiveConnections() >= size / 2) {
+            state.quietChecks = 0; // solo decrece tras shrink-after comprobaciones tranquilas seguidas
+        } else if (++state.quietChecks >= shrinkAfter) {
+            newSize = Math.max(minSize, size - step);
+            state.quietChecks = 0;
+        }
+
+        if (newSize != size) {
+            config.setMaximumPoolSize(newSize);
+            log.info("Pool {} resized from {} to {} (waiting: {}, timeouts: {}, mean acquire: {} ms)",
+                    config.getPoolName(), size, newSize, waiting, (long) timeouts, String.format("%.2f", acquireMillis));
+        }
+    }
+
+    // valores acumulados de las métricas de Hikari en la comprobación anterior, para calcular el intervalo
+    private class PoolState {
+        private final HikariDataSource dataSource;
+        private long acquireCount;
+        private double acquireNanos;
+        private double timeouts;
+        private int quietChecks;
+
+        PoolState(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        double acquireMillisSinceLastCheck() {
+            Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+            if (timer == null)
+                return 0;
+            long count = timer.count();
+            double nanos = timer.totalTime(TimeUnit.NANOSECONDS);
+            long acquired = count - acquireCount;
+            double mean = acquired > 0 ? (nanos - acquireNanos) / acquired / 1_000_000D : 0;
+            acquireCount = count;
+            acquireNanos = nanos;
+            return mean;
+        }
+
+        double timeoutsSinceLastCheck() {
+            Counter counter = meterRegistry.find("hikaricp.connections.timeout").tag("pool", dataSource.getPoolName()).counter();
+            if (counter == null)
+                return 0;
+            double total = counter.count();
+            double delta = total - timeouts;
+            timeouts = total;
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.springbootclaseswagger.config;
+
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * ObjectMapper de las respuestas JSON (el que usan Spring MVC y EmployeeController):
+ * Afterburner -- genera bytecode para los getters/setters en vez de llamarlos por reflexión.
+ * No cambia el JSON que se escribe, así que se aplica a todas las respuestas.
+ *
+ * Las propiedades nulas solo se omiten en Employee (@JsonInclude en la entidad), no en el resto de
+ * respuestas (actuator, springfox, errores).
+ *
+ * Comparado con el ObjectMapper por defecto en EmployeeSerializationBenchmark (mvn -Pjmh).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer employeeJsonCustomizer() {
+        return JacksonConfig::tune;
+    }
+
+    public static void tune(Jackson2ObjectMapperBuilder builder) {
+        // postConfigurer y no modulesToInstall, que sustituiría los módulos que registra Spring Boot
+        builder.postConfigurer(objectMapper -> objectMapper.registerModule(new AfterburnerModule()));
+    }
+}
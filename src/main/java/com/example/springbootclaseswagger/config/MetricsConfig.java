@@ -0,0 +1,62 @@
+package com.example.springbootclaseswagger.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Etiquetas extra de http.server.requests:
+ * handler -- método del controlador que atendió la petición
+ * result.size -- número de elementos devueltos, agrupados (ver ResultSizeAdvice)
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String RESULT_SIZE_ATTRIBUTE = MetricsConfig.class.getName() + ".resultSize";
+
+    private static final Tag HANDLER_NONE = Tag.of("handler", "none");
+    private static final Tag RESULT_SIZE_NONE = Tag.of("result.size", "none");
+
+    @Bean
+    public WebMvcTagsContributor employeeTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Throwable exception) {
+                Tag handlerTag = handler instanceof HandlerMethod
+                        ? Tag.of("handler", ((HandlerMethod) handler).getMethod().getName())
+                        : HANDLER_NONE;
+                Object resultSize = request.getAttribute(RESULT_SIZE_ATTRIBUTE);
+                Tag resultSizeTag = resultSize != null ? Tag.of("result.size", (String) resultSize) : RESULT_SIZE_NONE;
+                return Tags.of(handlerTag, resultSizeTag);
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    /**
+     * @param size number of returned elements
+     * @return bucket used as result.size tag, to keep the tag cardinality low
+     */
+    public static String resultSizeBucket(int size) {
+        if (size <= 1)
+            return String.valueOf(size);
+        if (size <= 10)
+            return "2-10";
+        if (size <= 100)
+            return "11-100";
+        if (size <= 1000)
+            return "101-1000";
+        return "1001+";
+    }
+}
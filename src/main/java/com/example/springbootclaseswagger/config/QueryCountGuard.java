@@ -0,0 +1,78 @@
+package com.example.springbootclaseswagger.config;
+
+import com.example.springbootclaseswagger.repository.SqlStatementCollector;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Cuenta las sentencias SQL de cada petición (métrica employees.request.statements) y avisa
+ * cuando pasan de employees.query-guard.max-statements, normalmente por un N+1.
+ * Las sentencias en batch JDBC cuentan una vez, así que también avisa cuando la petición carga
+ * más de employees.query-guard.max-entities entidades, como hace JpaRepository.deleteAll().
+ *
+ * Con employees.query-guard.reject=true la sentencia que supera el límite falla
+ * y la petición termina con error.
+ */
+@Component
+public class QueryCountGuard implements AsyncHandlerInterceptor {
+
+    private final Logger log = LoggerFactory.getLogger(QueryCountGuard.class);
+
+    private final SqlStatementCollector statements;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int maxEntities;
+    private final boolean reject;
+
+    public QueryCountGuard(SqlStatementCollector statements,
+                           MeterRegistry meterRegistry,
+                           @Value("${employees.query-guard.max-statements:20}") int maxStatements,
+                           @Value("${employees.query-guard.max-entities:1000}") int maxEntities,
+                           @Value("${employees.query-guard.reject:false}") boolean reject) {
+        this.statements = statements;
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxEntities = maxEntities;
+        this.reject = reject;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statements.startRequest(reject ? maxStatements : Integer.MAX_VALUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statements.endRequest(); // el resto de la petición sigue en otro hilo
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int entities = statements.requestEntities();
+        int count = statements.endRequest();
+        String handlerName = handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod().getName() : "none";
+
+        DistributionSummary.builder("employees.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > maxStatements)
+            log.warn("{} {} ({}) issued {} SQL statements, more than {}",
+                    request.getMethod(), request.getRequestURI(), handlerName, count, maxStatements);
+        if (entities > maxEntities)
+            log.warn("{} {} ({}) loaded {} entities, more than {}",
+                    request.getMethod(), request.getRequestURI(), handlerName, entities, maxEntities);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.springbootclaseswagger.config;
+
+import com.example.springbootclaseswagger.repository.EmployeeRepository;
+import com.example.springbootclaseswagger.repository.EmployeeRepositoryCustom;
+import com.example.springbootclaseswagger.repository.EmployeeRepositoryImpl;
+import com.example.springbootclaseswagger.repository.SqlStatementCollector;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Al arrancar llama una vez a cada consulta de EmployeeRepository (también las de EmployeeRepositoryCustom)
+ * en modo de prueba de SqlStatementCollector: se recoge el SQL que generaría pero no se ejecuta ninguna
+ * sentencia, y se ejecuta EXPLAIN sobre él. El borrado masivo no se llama (Hibernate vaciaría la región de
+ * caché de Employee antes de generar el SQL): su JPQL se traduce directamente. Avisa (o impide arrancar con
+ * employees.query-plan.fail-on-scan=true) si alguna recorre la tabla entera en vez de usar un índice, o si
+ * algún método no tiene comprobación.
+ *
+ * De las consultas paginadas solo se recoge la de contenido: el COUNT(*) tiene el mismo WHERE.
+ * Solo entiende los planes de H2.
+ */
+@Component
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final Pageable PAGE = PageRequest.of(0, 100);
+
+    // método del repositorio -> llamadas de ejemplo, una por sentencia; no se ejecuta ninguna
+    private static final Map<String, List<Consumer<EmployeeRepository>>> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("findByEmail", List.of(repository -> repository.findByEmail("a@a.com")));
+        QUERIES.put("existsByEmail", List.of(repository -> repository.existsByEmail("a@a.com")));
+        QUERIES.put("existsByEmailAndIdNot", List.of(repository -> repository.existsByEmailAndIdNot("a@a.com", 1L)));
+        QUERIES.put("existsByEmailIn", List.of(repository -> repository.existsByEmailIn(List.of("a@a.com", "b@b.com"))));
+        QUERIES.put("findByMarried", List.of(
+                repository -> repository.findByMarried(true),
+                repository -> repository.findByMarried(true, PAGE)));
+        QUERIES.put("findAllByAgeAfter", List.of(
+                repository -> repository.findAllByAgeAfter(30),
+                repository -> repository.findAllByAgeAfter(30, PAGE)));
+        QUERIES.put("findPageByMarried", List.of(repository -> repository.findPageByMarried(true, PAGE)));
+        QUERIES.put("findPageByAgeAfter", List.of(repository -> repository.findPageByAgeAfter(30, PAGE)));
+        QUERIES.put("findByIdGreaterThanOrderByIdAsc", List.of(repository -> repository.findByIdGreaterThanOrderByIdAsc(1L, PAGE)));
+        QUERIES.put("findSalaryIdsAfter", List.of(repository -> repository.findSalaryIdsAfter(1L, null, PAGE)));
+        QUERIES.put("findFields", List.of(
+                repository -> repository.findFields(List.of("id", "name"), true, 30, null, PAGE),
+                repository -> repository.findFields(List.of("id", "name"), null, null, 1L, PageRequest.of(0, 100, Sort.by("id")))));
+        QUERIES.put("deleteEmployeeById", List.of(repository -> repository.deleteEmployeeById(-1L)));
+        QUERIES.put("deleteEmployeeByIdAndVersion", List.of(repository -> repository.deleteEmployeeByIdAndVersion(-1L, 0L)));
+        QUERIES.put("updateFields", List.of(repository -> repository.updateFields(-1L, 0L, Map.of("name", "a"))));
+    }
+
+    // métodos cuyo SQL se obtiene traduciendo su JPQL, sin llamarlos
+    private static final Map<String, String> TRANSLATED = Map.of(
+            "deleteEmployees", EmployeeRepositoryImpl.deleteEmployeesJpql(true, 30));
+
+    // consultas que recorren la tabla entera a propósito: exportación y recálculo de todos los salarios
+    private static final List<String> FULL_SCANS = List.of("streamAll", "updateSalaries");
+
+    private final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private final EmployeeRepository repository;
+    private final SqlStatementCollector statements;
+    private final TransactionTemplate rollbackTransaction;
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean failOnScan;
+
+    public QueryPlanVerifier(EmployeeRepository repository,
+                             SqlStatementCollector statements,
+                             PlatformTransactionManager transactionManager,
+                             EntityManagerFactory entityManagerFactory,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${employees.query-plan.fail-on-scan:false}") boolean failOnScan) {
+        this.repository = repository;
+        this.statements = statements;
+        this.rollbackTransaction = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.failOnScan = failOnScan;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> problems = new ArrayList<>();
+
+        Stream.of(EmployeeRepository.class, EmployeeRepositoryCustom.class)
+                .flatMap(repositoryInterface -> Stream.of(repositoryInterface.getDeclaredMethods()))
+                .map(Method::getName)
+                .distinct()
+                .filter(method -> !QUERIES.containsKey(method) && !TRANSLATED.containsKey(method) && !FULL_SCANS.contains(method))
+                .forEach(method -> problems.add(method + ": no query plan check defined"));
+
+        for (Map.Entry<String, Set<String>> query : captureSql().entrySet()) {
+            if (query.getValue().isEmpty())
+                problems.add(query.getKey() + ": no SQL captured");
+            for (String sql : query.getValue()) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                log.debug("Query plan of {}: {}", query.getKey(), plan);
+                if (plan != null && plan.contains(TABLE_SCAN))
+                    problems.add(query.getKey() + ": full table scan -> " + plan.replaceAll("\\s+", " "));
+            }
+        }
+
+        if (problems.isEmpty()) {
+            log.info("Query plans of {} EmployeeRepository queries use indexes", QUERIES.size() + TRANSLATED.size());
+            return;
+        }
+        problems.forEach(problem -> log.warn("Query plan check failed for EmployeeRepository.{}", problem));
+        if (failOnScan)
+            throw new IllegalStateException("EmployeeRepository queries without index: " + problems);
+    }
+
+    /**
+     * Runs every sample call as a dry run, each one in its own transaction that is rolled back,
+     * and translates the JPQL of the bulk statements
+     * @return method -> SQL statements it would issue
+     */
+    private Map<String, Set<String>> captureSql() {
+        Map<String, Set<String>> sql = new LinkedHashMap<>();
+        QUERIES.forEach((method, calls) -> {
+            Set<String> captured = new LinkedHashSet<>();
+            for (Consumer<EmployeeRepository> call : calls)
+                rollbackTransaction.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    captured.addAll(statements.dryRun(() -> call.accept(repository)));
+                });
+            sql.put(method, captured);
+        });
+        TRANSLATED.forEach((method, jpql) -> sql.put(method, new LinkedHashSet<>(List.of(
+                sessionFactory.getQueryPlanCache().getHQLQueryPlan(jpql, false, Collections.emptyMap()).getSqlStrings()))));
+        return sql;
+    }
+}
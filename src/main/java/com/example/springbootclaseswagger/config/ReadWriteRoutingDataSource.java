@@ -0,0 +1,98 @@
+package com.example.springbootclaseswagger.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Envía las transacciones de solo lectura a la réplica y el resto al primario.
+ *
+ * Si el retraso de la réplica (ver updateReplicaLag) supera maxLag, también las lecturas van al primario.
+ * La conexión física se pide en la primera sentencia (LazyConnectionDataSourceProxy), cuando la
+ * transacción ya está marcada como de solo lectura.
+ *
+ * Los dos pools no son beans: así el único DataSource del contexto es este y los pools se cierran con él.
+ *
+ * Métricas: employees.datasource.routing (etiqueta target) y employees.datasource.replica.lag (segundos).
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final double maxLagSeconds;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    private volatile double replicaLagSeconds;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, Duration maxLag,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toMillis() / 1000D;
+        this.primaryConnections = Counter.builder("employees.datasource.routing")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("employees.datasource.routing")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        Gauge.builder("employees.datasource.replica.lag", this, routing -> routing.replicaLagSeconds)
+                .description("Last measured replication lag of the replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @param seconds measured lag, or Double.POSITIVE_INFINITY if the replica could not be checked
+     */
+    public void updateReplicaLag(double seconds) {
+        this.replicaLagSeconds = seconds;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    private Target route() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagSeconds <= maxLagSeconds) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.springbootclaseswagger.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+/**
+ * Mide periódicamente el retraso de la réplica con employees.datasource.replica.lag-query
+ * y se lo pasa a ReadWriteRoutingDataSource. Si la consulta falla las lecturas van al primario.
+ */
+public class ReplicaLagMonitor {
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final String lagQuery;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, ReadWriteRoutingDataSource routingDataSource, String lagQuery) {
+        this.replica = replica;
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+    }
+
+    @Scheduled(fixedDelayString = "${employees.datasource.replica.lag-check-interval:5000}")
+    public void checkLag() {
+        if (!StringUtils.hasText(lagQuery))
+            return;
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            routingDataSource.updateReplicaLag(lag == null ? 0 : lag);
+        } catch (RuntimeException e) {
+            log.warn("Could not check replica lag, reads go to the primary: {}", e.getMessage());
+            routingDataSource.updateReplicaLag(Double.POSITIVE_INFINITY);
+        }
+    }
+}
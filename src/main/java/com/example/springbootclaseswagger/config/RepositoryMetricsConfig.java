@@ -0,0 +1,56 @@
+package com.example.springbootclaseswagger.config;
+
+import com.example.springbootclaseswagger.repository.RepositoryMetricsInterceptor;
+import com.example.springbootclaseswagger.repository.SqlStatementCollector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+
+/**
+ * Instrumentación de los repositorios Spring Data (ver RepositoryMetricsInterceptor)
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static SqlStatementCollector sqlStatementCollector() {
+        return new SqlStatementCollector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCollector sqlStatementCollector) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCollector);
+            properties.put(AvailableSettings.INTERCEPTOR, sqlStatementCollector);
+        };
+    }
+
+    // static: es un BeanPostProcessor y no debe obligar a crear antes esta clase de configuración
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            SqlStatementCollector sqlStatementCollector,
+            @Value("${employees.repository.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        RepositoryMetricsInterceptor interceptor =
+                new RepositoryMetricsInterceptor(meterRegistry, sqlStatementCollector, slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(repositoryFactory ->
+                            repositoryFactory.addRepositoryProxyPostProcessor((proxy, repositoryInformation) ->
+                                    proxy.addAdvice(0, interceptor))); // fuera de la transacción
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springbootclaseswagger.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool de hilos compartido para recalcular salarios en memoria (EmployeeService.calculateSalaries con
+ * inMemory=true): employees.salary.workers hilos "salary-N" que se reutilizan entre peticiones.
+ *
+ * Spring Boot solo crea su applicationTaskExecutor (el de las respuestas asíncronas de Spring MVC,
+ * como /api/employees/stream) si no hay otro Executor, así que aquí se declara igual que lo haría él.
+ * Con employees.virtual-threads.enabled=true lo declara VirtualThreadsConfig.
+ */
+@Configuration
+public class TaskExecutorConfig {
+
+    public static final String SALARY_TASK_EXECUTOR = "salaryTaskExecutor";
+
+    @Bean(SALARY_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor salaryTaskExecutor(@Value("${employees.salary.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("salary-");
+        return executor;
+    }
+
+    @Lazy
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(value = "employees.virtual-threads.enabled", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
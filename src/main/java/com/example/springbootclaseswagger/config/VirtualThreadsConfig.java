@@ -0,0 +1,64 @@
+package com.example.springbootclaseswagger.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo employees.virtual-threads.enabled=true: cada petición de Tomcat, y con ella cada llamada a
+ * EmployeeRepository, se ejecuta en su propio hilo virtual en vez de en el pool fijo de Tomcat.
+ * También las respuestas asíncronas (/api/employees/stream).
+ *
+ * Necesita un JDK 21 o posterior en tiempo de ejecución. El proyecto compila para Java 15, así que
+ * el executor se obtiene por reflexión; con un JDK anterior la aplicación no arranca en este modo.
+ * Al subir a Spring Boot 3.2+ y Java 21 esta clase se sustituye por spring.threads.virtual.enabled=true.
+ *
+ * Las conexiones JDBC siguen limitadas por el pool de Hikari: los hilos virtuales permiten tener
+ * muchas más peticiones esperando sin gastar un hilo de plataforma cada una, no más consultas a la vez.
+ * Por eso solo en este modo Tomcat acepta employees.virtual-threads.max-connections conexiones
+ * (10000 por defecto) en vez de server.tomcat.max-connections; con el pool fijo de Tomcat tantas
+ * conexiones solo harían cola detrás de los hilos.
+ */
+@Configuration
+@ConditionalOnProperty("employees.virtual-threads.enabled")
+public class VirtualThreadsConfig {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer(
+            @Value("${employees.virtual-threads.max-connections:10000}") int maxConnections) {
+        return protocolHandler -> {
+            protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+            if (protocolHandler instanceof AbstractProtocol)
+                ((AbstractProtocol<?>) protocolHandler).setMaxConnections(maxConnections);
+            log.info("Tomcat requests run on virtual threads, max connections {}", maxConnections);
+        };
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("employees.virtual-threads.enabled requires Java 21 or later, running on "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+}
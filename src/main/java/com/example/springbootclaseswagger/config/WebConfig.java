@@ -0,0 +1,20 @@
+package com.example.springbootclaseswagger.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final QueryCountGuard queryCountGuard;
+
+    public WebConfig(QueryCountGuard queryCountGuard) {
+        this.queryCountGuard = queryCountGuard;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountGuard).addPathPatterns("/api/**");
+    }
+}
@@ -1,23 +1,51 @@
 package com.example.springbootclaseswagger.controller;
 
 import com.example.springbootclaseswagger.model.Employee;
-import com.example.springbootclaseswagger.repository.EmployeeRepository;
+import com.example.springbootclaseswagger.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import springfox.documentation.annotations.ApiIgnore;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 @RestController // Define que esto es un controlador REST
 // @Controller // Define que es un controlador MVC
@@ -35,10 +63,26 @@ public class EmployeeController {
     // atributos
     private final Logger log = LoggerFactory.getLogger(EmployeeController.class);
 
-    private final EmployeeRepository repository;
-
-    public EmployeeController(EmployeeRepository repository){
-        this.repository = repository;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String HAS_NEXT_HEADER = "X-Has-Next";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final Set<String> PROJECTION_FIELDS = Set.of(
+            "id", "name", "email", "married", "age", "country", "salary", "yearsInCompany");
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final Set<String> PATCH_FIELDS = Set.of(
+            "name", "email", "married", "age", "country", "salary", "yearsInCompany");
+
+    private final EmployeeService service;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeController(EmployeeService service, ObjectMapper objectMapper){
+        this.service = service;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -51,7 +95,112 @@ public class EmployeeController {
     @ApiOperation("Encuentra todos los empleados sin filtro ni paginación")
     public List<Employee> findEmployees(){
         log.debug("REST request to find all Employees");
-        return repository.findAll();
+        return service.findAll();
+    }
+
+    /**
+     * RETRIEVE ALL - only some fields
+     * Lee solo las columnas pedidas, sin crear entidades Employee.
+     * @param fields Employee properties to return
+     * @return One object per employee with the requested properties
+     */
+    @GetMapping(value = "/employees", params = {"fields", "!limit", "!after"})
+    @ApiOperation("Encuentra todos los empleados devolviendo solo algunos campos")
+    public ResponseEntity<List<Map<String, Object>>> findEmployeeFields(
+            @ApiParam("Campos separados por comas, p.ej. id,name,email") @RequestParam List<String> fields){
+        log.debug("REST request to find all Employees, fields: {}", fields);
+        List<String> projection = projectionFields(fields);
+        if (projection == null)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        return ResponseEntity.ok().body(service.findFields(projection, null, null, Pageable.unpaged()).getContent());
+    }
+
+    /**
+     * RETRIEVE PAGE - keyset pagination
+     * Devuelve como mucho "limit" empleados con id mayor que "after", ordenados por id.
+     * La cabecera X-Next-Cursor contiene el valor de "after" para la siguiente página
+     * y no se envía cuando ya no quedan más empleados. Con "fields" solo devuelve esas propiedades.
+     * @param after id del último empleado recibido (0 para la primera página)
+     * @param limit número máximo de empleados a devolver
+     * @param fields propiedades a devolver, todas si no se indica
+     * @return List of employees from database
+     */
+    @GetMapping(value = "/employees", params = "limit")
+    @ApiOperation("Encuentra empleados paginando por cursor (id)")
+    public ResponseEntity<List<?>> findEmployeesAfter(
+            @ApiParam("Id del último empleado recibido") @RequestParam(defaultValue = "0") Long after,
+            @ApiParam("Número máximo de empleados, entre 1 y " + MAX_PAGE_SIZE) @RequestParam Integer limit,
+            @ApiParam("Campos separados por comas, p.ej. id,name,email") @RequestParam(required = false) List<String> fields){
+        log.debug("REST request to find Employees after id {} limit {}, fields: {}", after, limit, fields);
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        if (fields != null)
+            return findEmployeeFieldsAfter(fields, after, limit);
+
+        List<Employee> employees = service.findAfter(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employees.size() == limit)
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(employees.get(employees.size() - 1).getId()));
+        return response.body(employees);
+    }
+
+    /**
+     * RETRIEVE PAGE - keyset pagination sin "limit": primera página de tamaño por defecto a partir de "after",
+     * nunca la tabla entera
+     */
+    @GetMapping(value = "/employees", params = {"after", "!limit"})
+    @ApiOperation("Encuentra empleados paginando por cursor (id) con el tamaño de página por defecto")
+    public ResponseEntity<List<?>> findEmployeesAfterDefaultLimit(
+            @ApiParam("Id del último empleado recibido") @RequestParam Long after,
+            @ApiParam("Campos separados por comas, p.ej. id,name,email") @RequestParam(required = false) List<String> fields){
+        return findEmployeesAfter(after, DEFAULT_PAGE_SIZE, fields);
+    }
+
+    // el id se lee siempre para el cursor, aunque no se haya pedido
+    private ResponseEntity<List<?>> findEmployeeFieldsAfter(List<String> fields, Long after, int limit) {
+        List<String> projection = projectionFields(fields);
+        if (projection == null)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        boolean withoutId = !projection.contains("id");
+        if (withoutId)
+            projection.add("id");
+
+        Slice<Map<String, Object>> employees = service.findFieldsAfter(projection, after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employees.hasNext()) {
+            List<Map<String, Object>> content = employees.getContent();
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(content.get(content.size() - 1).get("id")));
+        }
+        if (withoutId)
+            employees.forEach(employee -> employee.remove("id"));
+        return response.body(employees.getContent());
+    }
+
+    /**
+     * RETRIEVE ALL - streaming
+     * Escribe todos los empleados en formato NDJSON (un JSON por línea) según se leen
+     * de base de datos, sin cargar la tabla entera en memoria.
+     * @return Employees as newline-delimited JSON
+     */
+    @GetMapping("/employees/stream")
+    @ApiOperation("Exporta todos los empleados en streaming como NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamEmployees(){
+        log.debug("REST request to stream all Employees");
+        StreamingResponseBody body = out -> service.forEach(employee -> writeLine(out, employee));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, Employee employee) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(employee));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -63,8 +212,9 @@ public class EmployeeController {
     @ApiOperation("Encuentra un empleado por su id")
     public ResponseEntity<Employee> findOne(@ApiParam("Clave primaria del empleado en formato Long") @PathVariable Long id){
         log.info("REST request to find one employee by id: {}", id);
-        Optional<Employee> employeeOpt = repository.findById(id);
-        return employeeOpt.map(employee -> ResponseEntity.ok().body(employee))
+        Optional<Employee> employeeOpt = service.findById(id);
+        // con If-None-Match igual a la versión Spring responde 304 sin serializar el cuerpo
+        return employeeOpt.map(employee -> ResponseEntity.ok().eTag(eTag(employee)).body(employee))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -77,45 +227,113 @@ public class EmployeeController {
     @ApiOperation("Encuentra un empleado por su id")
     public ResponseEntity<Employee> filtrarPorEmail(@ApiParam("Correo electrónico en formato cadena de texto") @PathVariable String email){
         log.info("REST request to find one employee by email: {}", email);
-        Optional<Employee> employeeOptional = repository.findByEmail(email);
+        Optional<Employee> employeeOptional = service.findByEmail(email);
 //        if(employeeOptional.isPresent())
 //            return ResponseEntity.ok().body(employeeOptional.get());
 //        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         return employeeOptional.map(
-                employee -> ResponseEntity.ok().body(employee)).orElseGet(
+                employee -> ResponseEntity.ok().eTag(eTag(employee)).body(employee)).orElseGet(
                         () -> ResponseEntity.notFound().build());
 
     }
 
     /**
      * RETRIEVE BY PROPERTY - multiple results
+     * Paginado con page, size y sort. Sin count=true no se ejecuta el COUNT(*) y solo se
+     * informa de si hay más páginas (cabecera X-Has-Next).
      * @param married
+     * @param count Include the total number of employees in the X-Total-Count header
+     * @param pageable page, size and sort
      * @return
      */
     @GetMapping("/employees/married/{married}")
     @ApiOperation("Filtra todos por estado matrimonial")
-    public ResponseEntity<List<Employee>> filterByMarried(@ApiParam("Boolean que representa si está casado o no") @PathVariable Boolean married){
-        log.debug("Filter all employees by married status: {}", married);
-
-        List<Employee> employees = repository.findByMarried(married);
-
-        if (employees.isEmpty())
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", dataTypeClass = Integer.class, paramType = "query", value = "Página, empezando en 0"),
+            @ApiImplicitParam(name = "size", dataTypeClass = Integer.class, paramType = "query", value = "Tamaño de página"),
+            @ApiImplicitParam(name = "sort", dataTypeClass = String.class, paramType = "query", value = "propiedad,asc|desc")
+    })
+    public ResponseEntity<List<Employee>> filterByMarried(@ApiParam("Boolean que representa si está casado o no") @PathVariable Boolean married,
+                                                          @ApiParam("Incluir el total en X-Total-Count") @RequestParam(defaultValue = "false") boolean count,
+                                                          @ApiIgnore @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable){
+        log.debug("Filter all employees by married status: {}, page: {}", married, pageable);
+        if (!isSortable(pageable))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        return ResponseEntity.ok().body(employees);
+        return sliceResponse(service.findByMarried(married, count, pageable));
     }
 
     // FILTRAR POR AGE
     @GetMapping("/employees/age-greater/{age}")
     @ApiOperation("Filtra todos por edad mayor que")
-    public ResponseEntity<List<Employee>> filterByAgeGreater(@PathVariable Integer age){
-        log.debug("REST request to filter employees by age: {}", age);
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", dataTypeClass = Integer.class, paramType = "query", value = "Página, empezando en 0"),
+            @ApiImplicitParam(name = "size", dataTypeClass = Integer.class, paramType = "query", value = "Tamaño de página"),
+            @ApiImplicitParam(name = "sort", dataTypeClass = String.class, paramType = "query", value = "propiedad,asc|desc")
+    })
+    public ResponseEntity<List<Employee>> filterByAgeGreater(@PathVariable Integer age,
+                                                             @ApiParam("Incluir el total en X-Total-Count") @RequestParam(defaultValue = "false") boolean count,
+                                                             @ApiIgnore @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable){
+        log.debug("REST request to filter employees by age: {}, page: {}", age, pageable);
+        if (!isSortable(pageable))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        return sliceResponse(service.findByAgeAfter(age, count, pageable));
+    }
+
+    /**
+     * RETRIEVE BY PROPERTY - only some fields
+     * Variantes de los filtros anteriores que devuelven solo las propiedades indicadas en fields.
+     * Siempre paginan como Slice, sin total.
+     */
+    @GetMapping(value = "/employees/married/{married}", params = "fields")
+    @ApiOperation("Filtra todos por estado matrimonial devolviendo solo algunos campos")
+    public ResponseEntity<List<Map<String, Object>>> filterFieldsByMarried(@PathVariable Boolean married,
+                                                                           @ApiParam("Campos separados por comas, p.ej. id,name,email") @RequestParam List<String> fields,
+                                                                           @ApiIgnore @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable){
+        log.debug("Filter all employees by married status: {}, fields: {}, page: {}", married, fields, pageable);
+        List<String> projection = projectionFields(fields);
+        if (projection == null || !isSortable(pageable))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        return sliceResponse(service.findFields(projection, married, null, pageable));
+    }
+
+    @GetMapping(value = "/employees/age-greater/{age}", params = "fields")
+    @ApiOperation("Filtra todos por edad mayor que devolviendo solo algunos campos")
+    public ResponseEntity<List<Map<String, Object>>> filterFieldsByAgeGreater(@PathVariable Integer age,
+                                                                              @ApiParam("Campos separados por comas, p.ej. id,name,email") @RequestParam List<String> fields,
+                                                                              @ApiIgnore @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable){
+        log.debug("REST request to filter employees by age: {}, fields: {}, page: {}", age, fields, pageable);
+        List<String> projection = projectionFields(fields);
+        if (projection == null || !isSortable(pageable))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        return sliceResponse(service.findFields(projection, null, age, pageable));
+    }
+
+    /**
+     * @return requested fields without duplicates (each one is an alias of the query), null if empty or unknown
+     */
+    private static List<String> projectionFields(List<String> fields) {
+        Set<String> unique = new LinkedHashSet<>(fields);
+        return !unique.isEmpty() && PROJECTION_FIELDS.containsAll(unique) ? new ArrayList<>(unique) : null;
+    }
+
+    // sort solo por propiedades de Employee; otra cualquiera daría PropertyReferenceException (500)
+    private static boolean isSortable(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> PROJECTION_FIELDS.contains(order.getProperty()));
+    }
 
-        List<Employee> employees = repository.findAllByAgeAfter(age);
-        if (employees.isEmpty())
+    private <T> ResponseEntity<List<T>> sliceResponse(Slice<T> results) {
+        if (!results.hasContent())
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 
-        return ResponseEntity.ok().body(employees);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, String.valueOf(results.hasNext()));
+        if (results instanceof Page)
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(((Page<T>) results).getTotalElements()));
+        return response.body(results.getContent());
     }
 
 
@@ -134,28 +352,30 @@ public class EmployeeController {
     public ResponseEntity<Employee> calculateSalary(@PathVariable Long id){
         log.debug("REST request to calculate salary of employee id: {}", id);
 
-        // Retrieve employee
-        Optional<Employee> employeeOpt = repository.findById(id);
-        if (!employeeOpt.isPresent())
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-
-        // calculate price
-        Employee employee = employeeOpt.get();
-
-        // null
-        if (employee.getYearsInCompany() == null)
-            return ResponseEntity.ok().body(employee);
-
-        if (employee.getYearsInCompany() <5){
-            employee.setSalary(24000D);
-        }else if(employee.getYearsInCompany() > 5 && employee.getYearsInCompany() < 20){
-            employee.setSalary(40000D);
-        }else{
-            employee.setSalary(60000D);
-        }
+        // Retrieve employee, calculate salary and persist it
+        return service.calculateSalary(id)
+                .map(employee -> ResponseEntity.ok().body(employee))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 
-        // persist in db and return it
-        return ResponseEntity.ok().body(repository.save(employee));
+    /**
+     * CALCULATE SALARY - all employees
+     * Por defecto recalcula en base de datos con una sentencia UPDATE por tabla de SalaryPolicy.
+     * Con inMemory=true carga los empleados por bloques y los recalcula en paralelo,
+     * para reglas que no se pueden expresar en SQL (ver EmployeeService).
+     * @param country Only recalculate employees of this country, all of them if absent
+     * @param inMemory Recalculate in Java by chunks instead of in SQL
+     * @return Number of updated employees
+     */
+    @PostMapping("/employees/calculate-salary")
+    @ApiOperation("Recalcula el salario de todos los empleados")
+    public ResponseEntity<Integer> calculateSalaries(
+            @ApiParam("País de los empleados a recalcular") @RequestParam(required = false) String country,
+            @ApiParam("Recalcular en memoria por bloques en vez de en SQL") @RequestParam(defaultValue = "false") boolean inMemory)
+            throws InterruptedException, ExecutionException {
+        log.debug("REST request to calculate salary of all employees, country: {}, inMemory: {}", country, inMemory);
+
+        return ResponseEntity.ok().body(service.calculateSalaries(country, inMemory));
     }
 
 
@@ -171,53 +391,213 @@ public class EmployeeController {
         log.debug("REST request to save an Employee: {} ", employee);
         if (employee.getId() != null) // != null means there is an employee in database
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        if (employee.getEmail() != null && service.existsByEmail(employee.getEmail()))
+            return new ResponseEntity<>(HttpStatus.CONFLICT); // email único
 
-        Employee employeeDB = repository.save(employee);
+        Employee employeeDB = service.create(employee);
         return ResponseEntity
                 .created(new URI("/api/employees/" + employeeDB.getId()))
+                .eTag(eTag(employeeDB))
                 .body(employeeDB);
     }
 
+    /**
+     * CREATE MANY
+     * Guarda todos los empleados en una única transacción con los INSERT en batch.
+     * @param employees Employees to create, without id
+     * @return Ids of the created employees, in the same order
+     */
+    @PostMapping("/employees/batch")
+    @ApiOperation("Crea varios empleados en una sola petición")
+    public ResponseEntity<List<Long>> createEmployees(@RequestBody List<Employee> employees) {
+        log.debug("REST request to save {} Employees", employees.size());
+        if (employees.isEmpty() || employees.size() > MAX_BATCH_SIZE)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        if (employees.stream().anyMatch(employee -> employee == null || employee.getId() != null))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        // email único, tanto dentro de la petición como respecto a la base de datos
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee.getEmail() != null && !emails.add(employee.getEmail()))
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        if (!emails.isEmpty() && service.existsByEmailIn(emails))
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createAll(employees));
+    }
+
     // UPDATE ONE
 
     /**
-     * It updates one employee
+     * It updates one employee.
+     * With If-Match, or a version in the body, it only updates if the version has not changed
      * @param employee Employee to update
-     * @return Updated employee
+     * @param ifMatch ETag of the version the client read, optional
+     * @return Updated employee, 412 if If-Match does not match, 409 if the version in the body is stale
      */
     @PutMapping("/employees") // PUT (ACTUALIZAR) - recibe informacion - actualiza un empleado existente
-    public ResponseEntity<Employee> updateEmployee(@RequestBody Employee employee){
+    public ResponseEntity<Employee> updateEmployee(@RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         log.debug("REST request to update an Employee: {}", employee);
 
         if (employee.getId() == null){ // == null means want to create a new employee
             log.warn("Updating employee without id");
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        // Employee employeeDB = repository.save(employee);
-        // return ResponseEntity.ok().body(employeeDB);
-        return ResponseEntity.ok().body(repository.save(employee));
+        if (employee.getEmail() != null && service.existsByEmailAndIdNot(employee.getEmail(), employee.getId()))
+            return new ResponseEntity<>(HttpStatus.CONFLICT); // email único
+
+        Optional<Employee> current = service.findById(employee.getId());
+        if (current.isEmpty())
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+
+        Long version = ifMatchVersion(ifMatch);
+        if (version != null)
+            employee.setVersion(version);
+        else if (employee.getVersion() == null)
+            employee.setVersion(current.get().getVersion()); // clientes sin versión: gana la última escritura
+
+        try {
+            Employee employeeDB = service.replace(employee, current.get().getEmail());
+            return ResponseEntity.ok().eTag(eTag(employeeDB)).body(employeeDB);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Employee {} changed since version {}", employee.getId(), employee.getVersion());
+            return new ResponseEntity<>(version != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * PATCH (ACTUALIZAR PARCIAL) - JSON Merge Patch (RFC 7396): solo cambian los campos enviados, null los borra.
+     * Si el cliente manda la versión (If-Match o "version" en el patch) se actualiza con un único UPDATE
+     * condicionado a la versión, sin leer antes el empleado, y se responde 204 con el nuevo ETag.
+     * Si no, se carga el empleado, se aplica el patch y se responde 200 con el empleado.
+     */
+    @PatchMapping(value = "/employees/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ApiOperation("Actualiza solo los campos enviados del empleado (JSON Merge Patch)")
+    public ResponseEntity<Employee> patchEmployee(@PathVariable Long id, @RequestBody ObjectNode patch,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        log.debug("REST request to patch Employee {}: {}", id, patch);
+
+        JsonNode patchId = patch.remove("id");
+        if (patchId != null && !patchId.isNull() && patchId.asLong() != id)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        JsonNode patchVersion = patch.remove("version");
+        Long version = ifMatchVersion(ifMatch);
+        if (version == null && patchVersion != null && patchVersion.canConvertToLong())
+            version = patchVersion.asLong();
+
+        List<String> fields = new ArrayList<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        if (!PATCH_FIELDS.containsAll(fields))
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        Employee values;
+        try {
+            values = objectMapper.treeToValue(patch, Employee.class); // tipos incorrectos -> 400 antes de abrir la transacción
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid patch for employee {}: {}", id, e.getOriginalMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        JsonNode email = patch.get("email");
+        if (email != null && email.isTextual() && service.existsByEmailAndIdNot(email.asText(), id))
+            return new ResponseEntity<>(HttpStatus.CONFLICT); // email único
+
+        if (version != null) {
+            BeanWrapper properties = new BeanWrapperImpl(values);
+            Map<String, Object> changes = new LinkedHashMap<>();
+            for (String field : fields)
+                changes.put(field, properties.getPropertyValue(field));
+            if (service.updateFields(id, version, changes) == 0)
+                return conditionalFailure(id);
+            return ResponseEntity.noContent().eTag(eTag(version + 1)).build();
+        }
+
+        // se carga (normalmente desde la caché de segundo nivel) y al hacer flush
+        // @DynamicUpdate escribe solo las columnas que el patch ha cambiado
+        return service.update(id, employee -> {
+            try {
+                objectMapper.readerForUpdating(employee).readValue(patch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).map(patched -> ResponseEntity.ok().eTag(eTag(patched)).body(patched))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     // DELETE ONE
 
     @DeleteMapping("/employees/{id}")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id){
+    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         log.debug("REST request to delete an employee by id {}", id);
-        if(!repository.existsById(id)) // Check if exist
+        Long version = ifMatchVersion(ifMatch);
+        if (version != null)
+            return service.delete(id, version) == 0
+                    ? conditionalFailure(id) : ResponseEntity.noContent().build();
+
+        if(service.delete(id) == 0) // Check if exist
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 
-        repository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
+    // ETag fuerte a partir de la versión: cambia con cada modificación del empleado
+    private static String eTag(Employee employee) {
+        return eTag(employee.getVersion());
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return version of a strong If-Match ETag, null without If-Match or with "*",
+     * -1 (no version matches) for anything else, like weak ETags or lists
+     */
+    private static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // no es un ETag de este servicio
+            }
+        }
+        return -1L;
+    }
+
+    // una sentencia condicionada a la versión no tocó filas: o no existe (404) o ha cambiado (412)
+    private <T> ResponseEntity<T> conditionalFailure(Long id) {
+        return new ResponseEntity<>(service.existsById(id) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND);
+    }
+
     // DELETE ALL
     //@GetMapping("/employees/delete-all")
     // @ApiIgnore
     @DeleteMapping("/employees")
-    public ResponseEntity<Void> deleteEmployees(){
-        log.debug("REST request to delete all employee");
-        repository.deleteAll();
-        return ResponseEntity.noContent().build();
+    @ApiOperation("Borra los empleados que cumplen los filtros, o todos si no hay filtros, en una sola sentencia")
+    public ResponseEntity<Integer> deleteEmployees(
+            @ApiParam("Solo empleados con este estado civil") @RequestParam(required = false) Boolean married,
+            @ApiParam("Solo empleados mayores de esta edad") @RequestParam(required = false) Integer ageAfter){
+        log.debug("REST request to delete employees, married: {}, ageAfter: {}", married, ageAfter);
+        return ResponseEntity.ok().body(service.deleteAll(married, ageAfter));
+    }
+
+    /**
+     * Email repetido que no detectó la comprobación previa: otra petición guardó el mismo email entre
+     * la comprobación y el INSERT/UPDATE, y lo rechaza el índice único. Mismo 409 que la comprobación.
+     * Cualquier otra violación de integridad sigue siendo un error del servidor.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> duplicatedEmail(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null || !message.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_INDEX))
+            throw e;
+        log.debug("Email already saved by a concurrent request: {}", message);
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
     }
 
 
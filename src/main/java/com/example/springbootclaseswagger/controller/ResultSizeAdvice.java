@@ -0,0 +1,38 @@
+package com.example.springbootclaseswagger.controller;
+
+import com.example.springbootclaseswagger.config.MetricsConfig;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Anota en la petición cuántos elementos devuelve EmployeeController, para la etiqueta
+ * result.size de las métricas http.server.requests
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class ResultSizeAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int size = body == null ? 0 : body instanceof Collection ? ((Collection<?>) body).size() : 1;
+        if (request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest()
+                    .setAttribute(MetricsConfig.RESULT_SIZE_ATTRIBUTE, MetricsConfig.resultSizeBucket(size));
+        }
+        return body;
+    }
+}
@@ -1,17 +1,37 @@
 package com.example.springbootclaseswagger.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = Employee.EMAIL_UNIQUE_INDEX, columnList = "email", unique = true),
+        @Index(name = "idx_employees_married", columnList = "married"),
+        @Index(name = "idx_employees_age", columnList = "age"),
+        @Index(name = "idx_employees_married_age", columnList = "married, age")
+})
+@Cacheable // caché de segundo nivel, configurada en application.conf
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@DynamicUpdate // el UPDATE solo incluye las columnas modificadas
+// Las propiedades nulas (salary, yearsInCompany, married...) no se escriben en el JSON, respuestas más pequeñas.
+// Cambio de contrato: un cliente que esperaba "salary": null ahora no recibe la propiedad y debe tratarla como null
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Employee {
 
+    public static final String CACHE_REGION = "employee";
+    public static final String EMAIL_UNIQUE_INDEX = "ux_employees_email";
+
     // atributos
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-//    @GeneratedValue
+//    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con pooled optimizer: Hibernate reserva 50 ids por llamada y puede agrupar los INSERT en batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     @ApiModelProperty("Clave primaria tipo Long")
     private Long id;
     @ApiModelProperty("Nombre en formato texto mínimo 5 letras y máximo 50")
@@ -30,6 +50,11 @@ public class Employee {
     @Column(name="years_in_company")
     private Integer yearsInCompany;
 
+    @Version
+    @Column(nullable = false)
+    @ApiModelProperty("Versión para el bloqueo optimista, cambia en cada modificación; es el ETag del empleado")
+    private Long version;
+
     public Employee() {
     }
 
@@ -106,6 +131,14 @@ public class Employee {
         this.yearsInCompany = yearsInCompany;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -117,6 +150,7 @@ public class Employee {
                 ", country='" + country + '\'' +
                 ", salary=" + salary +
                 ", yearsInCompany=" + yearsInCompany +
+                ", version=" + version +
                 '}';
     }
 }
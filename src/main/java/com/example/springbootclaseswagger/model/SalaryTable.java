@@ -0,0 +1,79 @@
+package com.example.springbootclaseswagger.model;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de tramos salariales: años mínimos en la empresa -> salario.
+ * Los tramos se guardan ordenados en dos arrays para buscar con búsqueda binaria
+ * sin crear objetos en cada cálculo.
+ */
+public final class SalaryTable {
+
+    private final int[] fromYears;
+    private final double[] salaries;
+
+    private SalaryTable(int[] fromYears, double[] salaries) {
+        this.fromYears = fromYears;
+        this.salaries = salaries;
+    }
+
+    /**
+     * Parses brackets with the format "fromYears:salary,fromYears:salary,..."
+     * @param brackets e.g. "0:24000,5:40000,20:60000"
+     * @return compiled table
+     */
+    public static SalaryTable parse(String brackets) {
+        String[] entries = brackets.split(",");
+        long[][] parsed = new long[entries.length][];
+        double[] salaries = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] bracket = entries[i].trim().split(":");
+            if (bracket.length != 2)
+                throw new IllegalArgumentException("Invalid salary bracket: " + entries[i]);
+            parsed[i] = new long[]{Integer.parseInt(bracket[0].trim()), i};
+            salaries[i] = Double.parseDouble(bracket[1].trim());
+        }
+        Arrays.sort(parsed, (a, b) -> Long.compare(a[0], b[0]));
+
+        int[] sortedYears = new int[entries.length];
+        double[] sortedSalaries = new double[entries.length];
+        for (int i = 0; i < parsed.length; i++) {
+            sortedYears[i] = (int) parsed[i][0];
+            sortedSalaries[i] = salaries[(int) parsed[i][1]];
+            if (i > 0 && sortedYears[i] == sortedYears[i - 1])
+                throw new IllegalArgumentException("Duplicated salary bracket for " + sortedYears[i] + " years");
+        }
+        return new SalaryTable(sortedYears, sortedSalaries);
+    }
+
+    /**
+     * @param yearsInCompany years in company
+     * @return salary of the bracket containing yearsInCompany, NaN if it is below the first bracket
+     */
+    public double salaryFor(int yearsInCompany) {
+        int index = Arrays.binarySearch(fromYears, yearsInCompany);
+        if (index < 0)
+            index = -index - 2; // tramo anterior al punto de inserción
+        return index < 0 ? Double.NaN : salaries[index];
+    }
+
+    public int size() {
+        return fromYears.length;
+    }
+
+    public int fromYears(int index) {
+        return fromYears[index];
+    }
+
+    public double salary(int index) {
+        return salaries[index];
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryTable{" +
+                "fromYears=" + Arrays.toString(fromYears) +
+                ", salaries=" + Arrays.toString(salaries) +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.springbootclaseswagger.repository;
+
+import com.example.springbootclaseswagger.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Caché acotada email -> id para las búsquedas por email.
+ *
+ * El empleado se recupera después por id, que pasa por la caché de segundo nivel de Hibernate.
+ * Si el empleado ya no existe o ha cambiado de email la entrada se descarta y se consulta de nuevo.
+ */
+@Component
+public class EmployeeEmailCache {
+
+    private final EmployeeRepository repository;
+    private final Cache<String, Long> ids;
+
+    public EmployeeEmailCache(EmployeeRepository repository,
+                              @Value("${employees.email-cache.maximum-size:10000}") long maximumSize) {
+        this.repository = repository;
+        this.ids = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        Long id = ids.getIfPresent(email);
+        if (id != null) {
+            Optional<Employee> employee = repository.findById(id);
+            if (employee.isPresent() && email.equals(employee.get().getEmail()))
+                return employee;
+            ids.invalidate(email);
+        }
+
+        Optional<Employee> employee = repository.findByEmail(email);
+        employee.ifPresent(found -> ids.put(email, found.getId()));
+        return employee;
+    }
+
+    public void evict(String email) {
+        if (email != null)
+            ids.invalidate(email);
+    }
+
+    public void evictAll() {
+        ids.invalidateAll();
+    }
+}
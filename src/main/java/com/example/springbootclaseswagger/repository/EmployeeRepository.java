@@ -1,20 +1,67 @@
 package com.example.springbootclaseswagger.repository;
 
 import com.example.springbootclaseswagger.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+@Transactional(readOnly = true) // lecturas en transacción de solo lectura (y en la réplica si la hay)
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
     // Query DSL creación consultas vía nombre de métodos
 
     Optional<Employee> findByEmail(String email);
 
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    boolean existsByEmailIn(Collection<String> emails);
+
     List<Employee> findByMarried(Boolean married);
 
     List<Employee> findAllByAgeAfter(Integer age);
+
+    // Paginación: Slice no ejecuta COUNT(*), Page sí para dar el total
+
+    Slice<Employee> findByMarried(Boolean married, Pageable pageable);
+
+    Page<Employee> findPageByMarried(Boolean married, Pageable pageable);
+
+    Slice<Employee> findAllByAgeAfter(Integer age, Pageable pageable);
+
+    Page<Employee> findPageByAgeAfter(Integer age, Pageable pageable);
+
+    // Paginación por cursor (keyset): WHERE id > :after ORDER BY id, sin OFFSET
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // Recorre todos los empleados con un cursor JDBC; requiere una transacción abierta y cerrar el Stream.
+    // No pasa por la caché de segundo nivel para que una exportación completa no expulse los empleados más leídos
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    // Ids de los empleados con salario calculable, por cursor, para recalcular por bloques
+    @Query("select e.id from Employee e" +
+            " where e.id > :after and e.yearsInCompany is not null and (:country is null or e.country = :country)" +
+            " order by e.id")
+    List<Long> findSalaryIdsAfter(Long after, String country, Pageable pageable);
 }
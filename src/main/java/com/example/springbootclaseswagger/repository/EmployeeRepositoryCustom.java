@@ -0,0 +1,69 @@
+package com.example.springbootclaseswagger.repository;
+
+import com.example.springbootclaseswagger.model.SalaryTable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de EmployeeRepository que se construyen en tiempo de ejecución
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Updates salaries with a single UPDATE ... CASE statement built from the table.
+     * Employees below the first bracket, or whose salary would not change, are not updated.
+     * @param table salary brackets to apply
+     * @param country only employees of this country, or null
+     * @param excludedCountries when country is null, employees of these countries are skipped
+     * @return number of employees whose salary changed
+     */
+    int updateSalaries(SalaryTable table, String country, Collection<String> excludedCountries);
+
+    /**
+     * Reads only the given columns, without loading Employee entities into the persistence context.
+     * @param fields Employee properties to read, in order
+     * @param married only employees with this married status, or null
+     * @param ageAfter only employees older than this, or null
+     * @param idAfter only employees with a greater id than this (keyset pagination), or null
+     * @param pageable page and sort, may be unpaged
+     * @return one map property -> value per employee
+     */
+    Slice<Map<String, Object>> findFields(List<String> fields, Boolean married, Integer ageAfter, Long idAfter, Pageable pageable);
+
+    /**
+     * Deletes the matching employees with a single DELETE statement, without loading them.
+     * @param married only employees with this married status, or null
+     * @param ageAfter only employees older than this, or null
+     * @return number of deleted employees
+     */
+    int deleteEmployees(Boolean married, Integer ageAfter);
+
+    /**
+     * Deletes one employee with a single DELETE, without the SELECT that deleteById does first.
+     * Only that id is evicted from the second-level cache.
+     * @return 1 if deleted, 0 if it did not exist
+     */
+    int deleteEmployeeById(Long id);
+
+    /**
+     * Deletes one employee with a single DELETE, only while the stored version is the given one (If-Match).
+     * Only that id is evicted from the second-level cache.
+     * @return 1 if deleted, 0 if the employee does not exist or its version changed
+     */
+    int deleteEmployeeByIdAndVersion(Long id, Long version);
+
+    /**
+     * Updates the given properties with a single UPDATE, without reading the employee first.
+     * Only matches while the stored version is the given one, and increments it.
+     * Only that id is evicted from the second-level cache.
+     * @param id employee to update
+     * @param version version the caller read
+     * @param fields Employee property -> new value; names are trusted, values may be null
+     * @return 1 if updated, 0 if the employee does not exist or its version changed
+     */
+    int updateFields(Long id, Long version, Map<String, Object> fields);
+}
@@ -0,0 +1,210 @@
+package com.example.springbootclaseswagger.repository;
+
+import com.example.springbootclaseswagger.model.Employee;
+import com.example.springbootclaseswagger.model.SalaryTable;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateSalaries(SalaryTable table, String country, Collection<String> excludedCountries) {
+        // tramos de mayor a menor: el primer WHEN que se cumple es el tramo del empleado
+        StringBuilder salary = new StringBuilder("case");
+        for (int i = table.size() - 1; i >= 0; i--) {
+            salary.append(" when e.yearsInCompany >= ").append(table.fromYears(i))
+                    .append(" then ").append(BigDecimal.valueOf(table.salary(i)).toPlainString());
+        }
+        salary.append(" end");
+
+        // se sube la versión a mano: una sentencia masiva no pasa por el bloqueo optimista de Hibernate.
+        // Solo se tocan los empleados con algún tramo cuyo salario cambia, como en EmployeeService.calculateSalaries
+        StringBuilder jpql = new StringBuilder("update Employee e set e.salary = ").append(salary)
+                .append(", e.version = e.version + 1")
+                .append(" where e.yearsInCompany >= ").append(table.fromYears(0))
+                .append(" and (e.salary is null or e.salary <> ").append(salary).append(")");
+
+        if (country != null)
+            jpql.append(" and e.country = :country");
+        else if (!excludedCountries.isEmpty())
+            jpql.append(" and (e.country is null or e.country not in :excludedCountries)");
+
+        Query update = entityManager.createQuery(jpql.toString());
+        if (country != null)
+            update.setParameter("country", country);
+        else if (!excludedCountries.isEmpty())
+            update.setParameter("excludedCountries", excludedCountries);
+
+        int updated = update.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findFields(List<String> fields, Boolean married, Integer ageAfter, Long idAfter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        query.multiselect(fields.stream()
+                .map(field -> employee.get(field).alias(field))
+                .collect(Collectors.toList()));
+
+        List<Predicate> filters = new ArrayList<>();
+        if (married != null)
+            filters.add(cb.equal(employee.get("married"), married));
+        if (ageAfter != null)
+            filters.add(cb.greaterThan(employee.get("age"), ageAfter));
+        if (idAfter != null)
+            filters.add(cb.greaterThan(employee.get("id"), idAfter));
+        query.where(filters.toArray(new Predicate[0]));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), employee, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query).setHint(HINT_READONLY, true);
+        if (pageable.isPaged()) {
+            // una fila de más para saber si hay página siguiente sin hacer COUNT(*)
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields)
+                row.put(field, tuple.get(field));
+            rows.add(row);
+        }
+
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext)
+            rows.remove(rows.size() - 1);
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployees(Boolean married, Integer ageAfter) {
+        // sin filtros queda un DELETE de toda la tabla; Hibernate invalida la región de caché de Employee
+        Query delete = entityManager.createQuery(deleteEmployeesJpql(married, ageAfter));
+        if (married != null)
+            delete.setParameter("married", married);
+        if (ageAfter != null)
+            delete.setParameter("ageAfter", ageAfter);
+
+        int deleted = delete.executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    /**
+     * JPQL of deleteEmployees, with the parameters :married and :ageAfter when they are not null
+     */
+    public static String deleteEmployeesJpql(Boolean married, Integer ageAfter) {
+        List<String> filters = new ArrayList<>();
+        if (married != null)
+            filters.add("e.married = :married");
+        if (ageAfter != null)
+            filters.add("e.age > :ageAfter");
+
+        StringBuilder jpql = new StringBuilder("delete from Employee e");
+        if (!filters.isEmpty())
+            jpql.append(" where ").append(String.join(" and ", filters));
+        return jpql.toString();
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeeById(Long id) {
+        return executeOnEmployee(id, "delete from employees where id = ?", id);
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeeByIdAndVersion(Long id, Long version) {
+        return executeOnEmployee(id, "delete from employees where id = ? and version = ?", id, version);
+    }
+
+    @Override
+    @Transactional
+    public int updateFields(Long id, Long version, Map<String, Object> fields) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersister(Employee.class);
+        StringBuilder sql = new StringBuilder("update employees set version = version + 1");
+        List<Object> parameters = new ArrayList<>();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            sql.append(", ").append(persister.getPropertyColumnNames(field.getKey())[0]).append(" = ?");
+            parameters.add(field.getValue());
+        }
+        sql.append(" where id = ? and version = ?");
+        parameters.add(id);
+        parameters.add(version);
+        return executeOnEmployee(id, sql.toString(), parameters.toArray());
+    }
+
+    // Sentencia JDBC sobre un solo empleado. Con una sentencia JPQL o nativa Hibernate vaciaría toda la región
+    // de caché de Employee (BulkOperationCleanupAction); así solo se expulsa ese id.
+    // Se pasa por el StatementInspector (SqlStatementCollector) como el SQL de Hibernate, para que cuente
+    // en QueryCountGuard y salga en las métricas y el log de consultas lentas
+    private int executeOnEmployee(Long id, String sql, Object... parameters) {
+        entityManager.flush(); // cambios pendientes de la transacción antes de la sentencia JDBC
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        String inspected = session.getJdbcSessionContext().getStatementInspector().inspect(sql);
+        int rows = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(inspected)) {
+                for (int i = 0; i < parameters.length; i++)
+                    statement.setObject(i + 1, parameters[i]);
+                return statement.executeUpdate();
+            }
+        });
+        entityManager.clear();
+        evict(id);
+        return rows;
+    }
+
+    private void evict(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Employee.class, id);
+        // otra transacción puede volver a cachear la fila antigua antes del commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Employee.class, id);
+                }
+            });
+        }
+    }
+}
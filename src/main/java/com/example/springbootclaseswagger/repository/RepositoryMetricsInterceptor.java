@@ -0,0 +1,139 @@
+package com.example.springbootclaseswagger.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Mide cada llamada a EmployeeRepository: latencia (employees.repository), filas devueltas o
+ * modificadas (employees.repository.rows) y SQL ejecutado.
+ *
+ * Las llamadas más lentas que employees.repository.slow-query-threshold se escriben en el
+ * logger "slow-queries" con el SQL que han ejecutado y los argumentos, que son los parámetros de la consulta.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private static final Logger slowQueries = LoggerFactory.getLogger("slow-queries");
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final SqlStatementCollector statements;
+    private final long slowQueryThresholdNanos;
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+                                        SqlStatementCollector statements,
+                                        Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statements = statements;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        List<String> previous = statements.start();
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> sql = statements.stop(previous);
+            long rows = rows(result);
+            record(method, elapsed, rows, failure);
+            if (elapsed >= slowQueryThresholdNanos)
+                logSlowQuery(method, elapsed, rows, sql, invocation.getArguments());
+        }
+    }
+
+    // una línea por sentencia SQL; el StatementInspector solo ve el SQL con "?", así que los valores
+    // son los argumentos de la llamada. Sin rows cuando se desconocen (streams, que aún no se han leído)
+    private static void logSlowQuery(String method, long elapsed, long rows, List<String> sql, Object[] arguments) {
+        StringBuilder message = new StringBuilder(method).append(" took ")
+                .append(TimeUnit.NANOSECONDS.toMillis(elapsed)).append(" ms");
+        if (rows >= 0)
+            message.append(", rows=").append(rows);
+        message.append(", params=").append(params(arguments));
+        for (String statement : sql)
+            message.append(System.lineSeparator()).append("    ").append(statement);
+        slowQueries.warn(message.toString());
+    }
+
+    // Pageable como los valores que acaban en LIMIT/OFFSET y ORDER BY
+    private static String params(Object[] arguments) {
+        List<String> params = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            if (argument instanceof Pageable) {
+                Pageable pageable = (Pageable) argument;
+                params.add(pageable.isPaged()
+                        ? "offset=" + pageable.getOffset() + " limit=" + pageable.getPageSize() + " sort=" + pageable.getSort()
+                        : "unpaged");
+            } else if (argument instanceof Object[]) {
+                params.add(Arrays.deepToString((Object[]) argument));
+            } else {
+                params.add(String.valueOf(argument));
+            }
+        }
+        return params.toString();
+    }
+
+    private void record(String method, long elapsed, long rows, Throwable failure) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null)
+            return;
+        Timer.builder("employees.repository")
+                .description("EmployeeRepository call latency")
+                .tag("method", method)
+                .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            DistributionSummary.builder("employees.repository.rows")
+                    .description("Rows returned or modified by EmployeeRepository calls")
+                    .tag("method", method)
+                    .register(registry)
+                    .record(rows);
+        }
+    }
+
+    /**
+     * @return rows returned or modified, -1 when unknown (streams) or when the result is not rows (counts)
+     */
+    private static long rows(Object result) {
+        if (result == null)
+            return 0;
+        if (result instanceof Collection)
+            return ((Collection<?>) result).size();
+        if (result instanceof Slice)
+            return ((Slice<?>) result).getNumberOfElements();
+        if (result instanceof Optional)
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        if (result instanceof Boolean) // existsBy...: como mucho una fila
+            return (Boolean) result ? 1 : 0;
+        if (result instanceof Integer) // sentencias UPDATE/DELETE
+            return (Integer) result;
+        if (result instanceof Number || result instanceof BaseStream) // count() es un valor, no filas
+            return -1;
+        return 1;
+    }
+}
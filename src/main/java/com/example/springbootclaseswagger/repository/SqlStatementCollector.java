@@ -0,0 +1,154 @@
+package com.example.springbootclaseswagger.repository;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recoge el SQL que Hibernate prepara en el hilo actual mientras hay una captura abierta,
+ * y cuenta las sentencias y entidades cargadas de la petición HTTP en curso (ver QueryCountGuard).
+ * Se registra como hibernate.session_factory.statement_inspector y como interceptor de Hibernate
+ * (ver RepositoryMetricsConfig).
+ */
+public class SqlStatementCollector extends EmptyInterceptor implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<RequestStatements> REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> DRY_RUN = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CURRENT.get();
+        if (statements != null)
+            statements.add(sql);
+        if (DRY_RUN.get() != null)
+            throw new StatementNotExecutedException(sql); // antes de preparar la sentencia, no llega a la base de datos
+
+        RequestStatements request = REQUEST.get();
+        if (request != null && ++request.count > request.limit)
+            throw new TooManyStatementsException(request.count, request.limit, sql);
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatements request = REQUEST.get();
+        if (request != null)
+            request.entities++;
+        return false;
+    }
+
+    /**
+     * Starts counting the statements of a request on this thread
+     * @param limit statements allowed before failing with TooManyStatementsException
+     */
+    public void startRequest(int limit) {
+        RequestStatements request = new RequestStatements();
+        request.limit = limit;
+        REQUEST.set(request);
+    }
+
+    /**
+     * @return entities loaded from the database since startRequest, 0 if it was not called
+     */
+    public int requestEntities() {
+        RequestStatements request = REQUEST.get();
+        return request == null ? 0 : request.entities;
+    }
+
+    /**
+     * @return statements issued since startRequest, 0 if it was not called
+     */
+    public int endRequest() {
+        RequestStatements request = REQUEST.get();
+        REQUEST.remove();
+        return request == null ? 0 : request.count;
+    }
+
+    /**
+     * Starts capturing statements on this thread
+     * @return previous capture, to be restored with {@link #stop(List)}
+     */
+    public List<String> start() {
+        List<String> previous = CURRENT.get();
+        CURRENT.set(new ArrayList<>());
+        return previous;
+    }
+
+    /**
+     * @param previous value returned by {@link #start()}
+     * @return statements captured since start
+     */
+    public List<String> stop(List<String> previous) {
+        List<String> statements = CURRENT.get();
+        if (previous != null) {
+            previous.addAll(statements); // las consultas anidadas cuentan también para la externa
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Runs the call recording the SQL it prepares on this thread without executing it:
+     * the first statement fails with StatementNotExecutedException right after being recorded.
+     * Hibernate bulk statements still empty the cache region of the entity before preparing the SQL.
+     * @return statements recorded, at most one
+     */
+    public List<String> dryRun(Runnable call) {
+        List<String> previous = start();
+        DRY_RUN.set(true);
+        List<String> statements;
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            if (!notExecuted(e))
+                throw e;
+        } finally {
+            DRY_RUN.remove();
+            statements = stop(previous);
+        }
+        return statements;
+    }
+
+    // Hibernate y Spring pueden envolver la excepción
+    private static boolean notExecuted(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StatementNotExecutedException)
+                return true;
+        }
+        return false;
+    }
+
+    private static final class RequestStatements {
+
+        private int count;
+        private int limit;
+        private int entities;
+    }
+
+    /**
+     * Sentencia descartada por {@link #dryRun(Runnable)} después de recoger su SQL
+     */
+    public static class StatementNotExecutedException extends RuntimeException {
+
+        public StatementNotExecutedException(String sql) {
+            super("Statement not executed (dry run): " + sql);
+        }
+    }
+
+    /**
+     * Una petición ha superado el número máximo de sentencias SQL permitido
+     */
+    public static class TooManyStatementsException extends RuntimeException {
+
+        public TooManyStatementsException(int count, int limit, String sql) {
+            super("Request issued " + count + " SQL statements, limit is " + limit + ", last: " + sql);
+        }
+    }
+}
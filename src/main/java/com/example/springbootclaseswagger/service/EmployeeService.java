@@ -0,0 +1,290 @@
+package com.example.springbootclaseswagger.service;
+
+import com.example.springbootclaseswagger.config.TaskExecutorConfig;
+import com.example.springbootclaseswagger.model.Employee;
+import com.example.springbootclaseswagger.model.SalaryTable;
+import com.example.springbootclaseswagger.repository.EmployeeEmailCache;
+import com.example.springbootclaseswagger.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Acceso a empleados para EmployeeController, con las transacciones explícitas.
+ *
+ * Las lecturas son de solo lectura (Hibernate no hace flush ni guarda copias para el dirty checking,
+ * y con réplica van a ella) y las escrituras abren una transacción corta solo para escribir.
+ * Con spring.jpa.open-in-view=false la conexión se devuelve al pool al acabar cada método,
+ * antes de serializar la respuesta.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeService {
+
+    private static final int SALARY_CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository repository;
+    private final EmployeeEmailCache emailCache;
+    private final EntityManager entityManager;
+    private final SalaryPolicy salaryPolicy;
+    private final TransactionTemplate writeTransaction;
+    private final ThreadPoolTaskExecutor salaryExecutor;
+    private final int batchSize;
+
+    public EmployeeService(EmployeeRepository repository,
+                           EmployeeEmailCache emailCache,
+                           EntityManager entityManager,
+                           SalaryPolicy salaryPolicy,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier(TaskExecutorConfig.SALARY_TASK_EXECUTOR) ThreadPoolTaskExecutor salaryExecutor,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.repository = repository;
+        this.emailCache = emailCache;
+        this.entityManager = entityManager;
+        this.salaryPolicy = salaryPolicy;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.salaryExecutor = salaryExecutor;
+        this.batchSize = batchSize;
+    }
+
+    // LECTURAS
+
+    public List<Employee> findAll() {
+        return repository.findAll();
+    }
+
+    public Slice<Map<String, Object>> findFields(List<String> fields, Boolean married, Integer ageAfter, Pageable pageable) {
+        return repository.findFields(fields, married, ageAfter, null, pageable);
+    }
+
+    public Slice<Map<String, Object>> findFieldsAfter(List<String> fields, Long after, int limit) {
+        return repository.findFields(fields, null, null, after, PageRequest.of(0, limit, Sort.by("id")));
+    }
+
+    public List<Employee> findAfter(Long after, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Passes every employee to the consumer while reading them with a JDBC cursor,
+     * without keeping them in the persistence context
+     */
+    public void forEach(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = repository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee); // evita que el contexto de persistencia crezca
+            });
+        }
+    }
+
+    public Optional<Employee> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        return emailCache.findByEmail(email);
+    }
+
+    public Slice<Employee> findByMarried(Boolean married, boolean count, Pageable pageable) {
+        return count ? repository.findPageByMarried(married, pageable) : repository.findByMarried(married, pageable);
+    }
+
+    public Slice<Employee> findByAgeAfter(Integer age, boolean count, Pageable pageable) {
+        return count ? repository.findPageByAgeAfter(age, pageable) : repository.findAllByAgeAfter(age, pageable);
+    }
+
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
+    }
+
+    public boolean existsByEmail(String email) {
+        return repository.existsByEmail(email);
+    }
+
+    public boolean existsByEmailAndIdNot(String email, Long id) {
+        return repository.existsByEmailAndIdNot(email, id);
+    }
+
+    public boolean existsByEmailIn(Collection<String> emails) {
+        return repository.existsByEmailIn(emails);
+    }
+
+    // ESCRITURAS
+
+    @Transactional
+    public Employee create(Employee employee) {
+        employee.setVersion(null); // sin versión Spring Data lo trata como nuevo y hace persist
+        return repository.save(employee);
+    }
+
+    /**
+     * Saves all employees in one transaction; Hibernate groups the INSERTs in batches of hibernate.jdbc.batch_size.
+     * After each batch the persistence context is flushed and cleared, so it does not grow with the request
+     * @return ids of the created employees, in the same order
+     */
+    @Transactional
+    public List<Long> createAll(List<Employee> employees) {
+        List<Long> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employee.setVersion(null);
+            ids.add(repository.save(employee).getId()); // el id sale de la secuencia, sin esperar al INSERT
+            if (ids.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Replaces a detached employee; fails with OptimisticLockingFailureException if its version is stale
+     * @param employee employee with id and version
+     * @param previousEmail email before the change, evicted from the email cache
+     */
+    @Transactional
+    public Employee replace(Employee employee, String previousEmail) {
+        emailCache.evict(previousEmail);
+        return repository.save(employee);
+    }
+
+    /**
+     * Loads the employee and applies the changes; only modified columns are written (@DynamicUpdate)
+     * @return the updated employee, empty if it does not exist
+     */
+    @Transactional
+    public Optional<Employee> update(Long id, Consumer<Employee> changes) {
+        return repository.findById(id).map(employee -> {
+            String previousEmail = employee.getEmail();
+            changes.accept(employee);
+            if (!Objects.equals(previousEmail, employee.getEmail()))
+                emailCache.evict(previousEmail);
+            return employee;
+        });
+    }
+
+    /**
+     * Single UPDATE of the given properties if the version matches, without reading the employee.
+     * The email cache discards entries whose email changed, so nothing is evicted.
+     * @return 1 if updated, 0 if the employee does not exist or its version changed
+     */
+    @Transactional
+    public int updateFields(Long id, Long version, Map<String, Object> fields) {
+        return repository.updateFields(id, version, fields);
+    }
+
+    // la caché de emails descarta sola las entradas de empleados borrados
+    @Transactional
+    public int delete(Long id) {
+        return repository.deleteEmployeeById(id);
+    }
+
+    @Transactional
+    public int delete(Long id, Long version) {
+        return repository.deleteEmployeeByIdAndVersion(id, version);
+    }
+
+    @Transactional
+    public int deleteAll(Boolean married, Integer ageAfter) {
+        int deleted = repository.deleteEmployees(married, ageAfter);
+        emailCache.evictAll();
+        return deleted;
+    }
+
+    // SALARIOS
+
+    /**
+     * @return the employee with its salary recalculated, unchanged if no bracket applies, empty if it does not exist
+     */
+    @Transactional
+    public Optional<Employee> calculateSalary(Long id) {
+        return repository.findById(id).map(employee -> {
+            if (employee.getYearsInCompany() == null)
+                return employee;
+            double salary = salaryPolicy.salaryFor(employee.getCountry(), employee.getYearsInCompany());
+            if (!Double.isNaN(salary)) // NaN: ningún tramo aplica
+                employee.setSalary(salary); // se escribe al hacer commit
+            return employee;
+        });
+    }
+
+    /**
+     * Por defecto recalcula en base de datos con una sentencia UPDATE por tabla de SalaryPolicy.
+     * Con inMemory=true carga los empleados por bloques y los recalcula en paralelo en salaryExecutor,
+     * cada bloque en su propia transacción, para reglas que no se pueden expresar en SQL.
+     * @param country only employees of this country, all of them if null
+     * @return number of updated employees
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int calculateSalaries(String country, boolean inMemory) throws InterruptedException, ExecutionException {
+        if (!inMemory)
+            return writeTransaction.execute(status -> updateSalaries(country));
+
+        int workers = salaryExecutor.getMaxPoolSize();
+        int updated = 0;
+        long after = 0L;
+        List<Future<Integer>> chunks = new ArrayList<>(workers);
+        boolean finished = false;
+        while (!finished) {
+            // se lanzan como mucho tantos bloques como hilos tiene salaryExecutor para acotar la memoria
+            while (chunks.size() < workers) {
+                List<Long> ids = repository.findSalaryIdsAfter(after, country, PageRequest.of(0, SALARY_CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    finished = true;
+                    break;
+                }
+                after = ids.get(ids.size() - 1);
+                chunks.add(salaryExecutor.submit(() -> writeTransaction.execute(status -> calculateSalaries(ids))));
+            }
+            for (Future<Integer> chunk : chunks)
+                updated += chunk.get();
+            chunks.clear();
+        }
+        return updated;
+    }
+
+    private int updateSalaries(String country) {
+        if (country != null)
+            return repository.updateSalaries(salaryPolicy.tableFor(country), country, Collections.emptySet());
+
+        int updated = 0;
+        Map<String, SalaryTable> countryTables = salaryPolicy.countryTables();
+        for (Map.Entry<String, SalaryTable> countryTable : countryTables.entrySet())
+            updated += repository.updateSalaries(countryTable.getValue(), countryTable.getKey(), Collections.emptySet());
+        return updated + repository.updateSalaries(salaryPolicy.defaultTable(), null, countryTables.keySet());
+    }
+
+    private int calculateSalaries(List<Long> ids) {
+        int updated = 0;
+        for (Employee employee : repository.findAllById(ids)) {
+            double salary = salaryPolicy.salaryFor(employee.getCountry(), employee.getYearsInCompany());
+            if (!Double.isNaN(salary) && (employee.getSalary() == null || employee.getSalary() != salary)) {
+                employee.setSalary(salary); // se escribe al hacer commit de la transacción del bloque
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
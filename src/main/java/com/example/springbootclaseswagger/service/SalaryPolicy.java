@@ -0,0 +1,104 @@
+package com.example.springbootclaseswagger.service;
+
+import com.example.springbootclaseswagger.model.SalaryTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reglas de cálculo de salario por años en la empresa, opcionalmente por país.
+ *
+ * Se cargan de salary.policy.location (por defecto classpath:salary-policy.properties)
+ * y se recargan sin reiniciar cuando el fichero cambia.
+ */
+@Component
+public class SalaryPolicy {
+
+    private static final String DEFAULT_TABLE = "default";
+
+    private final Logger log = LoggerFactory.getLogger(SalaryPolicy.class);
+
+    private final Resource location;
+
+    private volatile Tables tables;
+    private long lastModified;
+
+    public SalaryPolicy(@Value("${salary.policy.location:classpath:salary-policy.properties}") Resource location)
+            throws IOException {
+        this.location = location;
+        this.lastModified = location.lastModified();
+        this.tables = load(location);
+    }
+
+    /**
+     * @param country country of the employee, may be null
+     * @param yearsInCompany years in company
+     * @return salary for the employee, NaN if no bracket applies
+     */
+    public double salaryFor(String country, int yearsInCompany) {
+        return tableFor(country).salaryFor(yearsInCompany);
+    }
+
+    public SalaryTable tableFor(String country) {
+        Tables current = tables;
+        SalaryTable table = country == null ? null : current.byCountry.get(country);
+        return table != null ? table : current.defaultTable;
+    }
+
+    public SalaryTable defaultTable() {
+        return tables.defaultTable;
+    }
+
+    public Map<String, SalaryTable> countryTables() {
+        return tables.byCountry;
+    }
+
+    @Scheduled(fixedDelayString = "${salary.policy.reload-interval:30000}")
+    public void reloadIfModified() {
+        try {
+            long modified = location.lastModified();
+            if (modified == lastModified)
+                return;
+            tables = load(location);
+            lastModified = modified;
+            log.info("Salary policy reloaded from {}", location);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Could not reload salary policy from {}, keeping previous one", location, e);
+        }
+    }
+
+    private static Tables load(Resource location) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(location);
+        String defaultBrackets = properties.getProperty(DEFAULT_TABLE);
+        if (defaultBrackets == null)
+            throw new IllegalArgumentException("Missing '" + DEFAULT_TABLE + "' salary table in " + location);
+
+        Map<String, SalaryTable> byCountry = new HashMap<>();
+        for (String country : properties.stringPropertyNames()) {
+            if (!country.equals(DEFAULT_TABLE))
+                byCountry.put(country, SalaryTable.parse(properties.getProperty(country)));
+        }
+        return new Tables(SalaryTable.parse(defaultBrackets), Collections.unmodifiableMap(byCountry));
+    }
+
+    private static final class Tables {
+
+        private final SalaryTable defaultTable;
+        private final Map<String, SalaryTable> byCountry;
+
+        private Tables(SalaryTable defaultTable, Map<String, SalaryTable> byCountry) {
+            this.defaultTable = defaultTable;
+            this.byCountry = byCountry;
+        }
+    }
+}
@@ -1,5 +1,5 @@
-INSERT INTO employees (name, email, age, married, country, years_in_company) values ('Mike1', 'mike@mike.com', 15, 1, 'Spain', 11);
-INSERT INTO employees (name, email, age, married, country, years_in_company) values ('Mike2', 'farin@mike.com', 35, 1, 'Spain', 3);
-INSERT INTO employees (name, email, age, married, country, years_in_company) values ('Mike3', 'farin@mike.com', 20, 0, 'Spain', 16);
-INSERT INTO employees (name, email, age, married, country, years_in_company) values ('Mike4', 'farin@mike.com', 70, 1, 'Spain', 21);
-INSERT INTO employees (name, email, age, married, country) values ('Mike5', 'farin@mike.com', 99, 0, 'Spain');
\ No newline at end of file
+INSERT INTO employees (id, name, email, age, married, country, years_in_company, version) values (NEXT VALUE FOR employees_seq, 'Mike1', 'mike@mike.com', 15, 1, 'Spain', 11, 0);
+INSERT INTO employees (id, name, email, age, married, country, years_in_company, version) values (NEXT VALUE FOR employees_seq, 'Mike2', 'farin@mike.com', 35, 1, 'Spain', 3, 0);
+INSERT INTO employees (id, name, email, age, married, country, years_in_company, version) values (NEXT VALUE FOR employees_seq, 'Mike3', 'mike3@mike.com', 20, 0, 'Spain', 16, 0);
+INSERT INTO employees (id, name, email, age, married, country, years_in_company, version) values (NEXT VALUE FOR employees_seq, 'Mike4', 'mike4@mike.com', 70, 1, 'Spain', 21, 0);
+INSERT INTO employees (id, name, email, age, married, country, version) values (NEXT VALUE FOR employees_seq, 'Mike5', 'mike5@mike.com', 99, 0, 'Spain', 0);
\ No newline at end of file
@@ -0,0 +1,362 @@
+package com.example.springbootclaseswagger;
+
+import com.example.springbootclaseswagger.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeControllerTests {
+
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @SpyBean
+    private EmployeeService service;
+
+    // FIELDS
+
+    @Test
+    void repeatedFieldsAreReturnedOnce() throws Exception {
+        mockMvc.perform(get("/api/employees").param("fields", "id,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(1))));
+        mockMvc.perform(get("/api/employees/married/true").param("fields", "id,name,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(2))));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/employees").param("fields", "id,version"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/age-greater/10").param("fields", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    // KEYSET PAGINATION (after, limit)
+
+    @Test
+    void pagesFollowTheNextCursor() throws Exception {
+        String cursor = mockMvc.perform(get("/api/employees").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        long after = Long.parseLong(cursor);
+
+        mockMvc.perform(get("/api/employees").param("after", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", everyItem(greaterThan((int) after))));
+        mockMvc.perform(get("/api/employees").param("after", String.valueOf(Long.MAX_VALUE)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        mockMvc.perform(get("/api/employees").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void afterWithoutLimitReturnsOnePage() throws Exception {
+        for (int i = 0; i < 21; i++)
+            create("keyset-" + i + "@example.com");
+
+        mockMvc.perform(get("/api/employees").param("after", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(header().exists("X-Next-Cursor"));
+        mockMvc.perform(get("/api/employees").param("after", "0").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(1))))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    @Test
+    void keysetPagesOnlyReturnTheRequestedFields() throws Exception {
+        String cursor = mockMvc.perform(get("/api/employees").param("fields", "name").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(1))))
+                .andExpect(jsonPath("$[0].name").exists())
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        // misma página que sin fields
+        mockMvc.perform(get("/api/employees").param("fields", "id,name").param("after", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", everyItem(greaterThan(Integer.parseInt(cursor)))));
+        mockMvc.perform(get("/api/employees").param("fields", "version").param("limit", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // SORT
+
+    @Test
+    void knownSortIsApplied() throws Exception {
+        mockMvc.perform(get("/api/employees/age-greater/10").param("sort", "age,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].age").value(99));
+    }
+
+    @Test
+    void unknownSortIsRejected() throws Exception {
+        mockMvc.perform(get("/api/employees/married/true").param("sort", "bogus"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/age-greater/10").param("sort", "bogus,desc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/married/true").param("fields", "id").param("sort", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // JSON
+
+    @Test
+    void nullEmployeePropertiesAreOmitted() throws Exception {
+        mockMvc.perform(get("/api/employees/email/mike5@mike.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Mike5"))
+                .andExpect(jsonPath("$.yearsInCompany").doesNotExist());
+    }
+
+    @Test
+    void otherResponsesKeepNullProperties() throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("salary", null);
+
+        assertThat(objectMapper.writeValueAsString(body)).isEqualTo("{\"salary\":null}");
+    }
+
+    // SALARIES
+
+    @Test
+    void salaryRecalculationOnlyCountsChanges() throws Exception {
+        mockMvc.perform(post("/api/employees/calculate-salary"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/employees/calculate-salary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        mockMvc.perform(post("/api/employees/calculate-salary").param("inMemory", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+    }
+
+    // CONDITIONAL REQUESTS (ETag = "version")
+
+    @Test
+    void unchangedEmployeeIsNotModified() throws Exception {
+        long id = create("etag-get@example.com");
+
+        mockMvc.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test
+    void putWithStaleVersion() throws Exception {
+        long id = create("etag-put@example.com");
+        String employee = "{\"id\":" + id + ",\"name\":\"Patricio\",\"email\":\"etag-put@example.com\"";
+
+        mockMvc.perform(put("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"7\"").content(employee + "}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content(employee + ",\"version\":7}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"").content(employee + "}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("Patricio"));
+    }
+
+    @Test
+    void patchWithIfMatch() throws Exception {
+        long id = create("etag-patch@example.com");
+        mockMvc.perform(get("/api/employees/{id}", id)).andExpect(status().isOk()); // queda en la caché de segundo nivel
+
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"").content("{\"age\":40}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"").content("{\"age\":40,\"yearsInCompany\":2}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // el UPDATE expulsa el empleado de la caché: se lee la versión nueva
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.age").value(40))
+                .andExpect(jsonPath("$.yearsInCompany").value(2));
+
+        mockMvc.perform(patch("/api/employees/{id}", -1).contentType(MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"").content("{\"age\":40}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchWithoutVersionMergesTheChanges() throws Exception {
+        long id = create("merge-patch@example.com");
+
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON)
+                        .content("{\"age\":41,\"country\":\"Spain\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("Patricio Estrella"))
+                .andExpect(jsonPath("$.age").value(41))
+                .andExpect(jsonPath("$.country").value("Spain"));
+        // null borra la propiedad; las no enviadas se quedan como estaban
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON)
+                        .content("{\"country\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.age").value(41))
+                .andExpect(jsonPath("$.country").doesNotExist());
+
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON).content("{\"bogus\":1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/employees/{id}", -1).contentType(MERGE_PATCH_JSON).content("{\"age\":40}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteWithIfMatch() throws Exception {
+        long id = create("etag-delete@example.com");
+        mockMvc.perform(get("/api/employees/{id}", id)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"0\""))
+                .andExpect(status().isPreconditionFailed()); // los ETag débiles no coinciden nunca
+        mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    // BATCH
+
+    @Test
+    void batchIdsAreReturnedInOrder() throws Exception {
+        int size = 120; // más de dos batches de hibernate.jdbc.batch_size=50
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < size; i++)
+            body.append(i == 0 ? "" : ",").append("{\"name\":\"Batch").append(i)
+                    .append("\",\"email\":\"batch-").append(i).append("@example.com\"}");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        String ids = mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(body.append("]").toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(size))
+                .andReturn().getResponse().getContentAsString();
+
+        // un INSERT preparado por batch y una llamada a la secuencia cada 50 ids, no un INSERT por empleado
+        assertThat(statistics.getPrepareStatementCount() - statements).isLessThan(10);
+        long[] created = objectMapper.readValue(ids, long[].class);
+        assertThat(created).isSorted().doesNotHaveDuplicates();
+        for (int i : new int[]{0, 49, 50, size - 1}) {
+            mockMvc.perform(get("/api/employees/{id}", created[i]))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Batch" + i));
+        }
+    }
+
+    @Test
+    void nullBatchElementsAreRejected() throws Exception {
+        mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON).content("[null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Batch\",\"email\":\"batch-null@example.com\"},null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/email/batch-null@example.com"))
+                .andExpect(status().isNotFound());
+    }
+
+    // UNIQUE EMAIL
+
+    @Test
+    void emailSavedConcurrentlyIsAConflict() throws Exception {
+        long id = create("race-put@example.com");
+        // la comprobación previa no ve el email, como si otra petición lo guardara justo después: lo rechaza el índice único
+        doReturn(false).when(service).existsByEmail(anyString());
+        doReturn(false).when(service).existsByEmailIn(anyCollection());
+        doReturn(false).when(service).existsByEmailAndIdNot(anyString(), anyLong());
+
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Mike6\",\"email\":\"mike5@mike.com\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Mike6\",\"email\":\"race-batch@example.com\"},"
+                                + "{\"name\":\"Mike7\",\"email\":\"mike5@mike.com\"}]"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + id + ",\"name\":\"Patricio\",\"email\":\"mike5@mike.com\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"").content("{\"email\":\"mike5@mike.com\"}"))
+                .andExpect(status().isConflict());
+
+        // el batch se deshace entero
+        mockMvc.perform(get("/api/employees/email/race-batch@example.com"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("race-put@example.com"));
+    }
+
+    private long create(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Patricio Estrella\",\"email\":\"" + email + "\",\"age\":30}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springbootclaseswagger;
+
+import com.example.springbootclaseswagger.repository.SqlStatementCollector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * DELETE /api/employees sobre una tabla con solo cuatro empleados conocidos: borra los datos de data.sql,
+ * así que la base de datos de este contexto no se comparte con las demás pruebas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class EmployeeDeleteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCollector statements;
+
+    @BeforeEach
+    void onlyKnownEmployees() throws Exception {
+        mockMvc.perform(delete("/api/employees")).andExpect(status().isOk());
+        create("Married20", true, 20);
+        create("Married50", true, 50);
+        create("Single20", false, 20);
+        create("Single50", false, 50);
+    }
+
+    // FILTERED DELETE
+
+    @Test
+    void deleteByMarried() throws Exception {
+        deleteEmployees("?married=true", 2);
+        remaining("Single20", "Single50");
+    }
+
+    @Test
+    void deleteByAgeAfter() throws Exception {
+        deleteEmployees("?ageAfter=30", 2);
+        remaining("Married20", "Single20");
+    }
+
+    @Test
+    void deleteByMarriedAndAgeAfter() throws Exception {
+        deleteEmployees("?married=true&ageAfter=30", 1);
+        remaining("Married20", "Single20", "Single50");
+    }
+
+    @Test
+    void deleteWithoutFiltersDeletesAll() throws Exception {
+        deleteEmployees("", 4);
+        remaining();
+    }
+
+    // DELETE ONE
+
+    @Test
+    void deleteOneIsASingleStatement() throws Exception {
+        long id = create("Patricio", false, 30);
+
+        List<String> previous = statements.start();
+        mockMvc.perform(delete("/api/employees/{id}", id))
+                .andExpect(status().isNoContent());
+        List<String> sql = statements.stop(previous);
+
+        assertThat(sql).hasSize(1);
+        assertThat(sql.get(0)).startsWith("delete from employees");
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/{id}", id)) // 0 filas borradas
+                .andExpect(status().isNotFound());
+        remaining("Married20", "Married50", "Single20", "Single50");
+    }
+
+    private void deleteEmployees(String filters, int expected) throws Exception {
+        mockMvc.perform(delete("/api/employees" + filters))
+                .andExpect(status().isOk())
+                .andExpect(content().string(String.valueOf(expected)));
+    }
+
+    private void remaining(String... names) throws Exception {
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder((Object[]) names)));
+    }
+
+    private long create(String name, boolean married, int age) throws Exception {
+        String body = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + name.toLowerCase() + "@example.com\","
+                                + "\"married\":" + married + ",\"age\":" + age + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.springbootclaseswagger.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeCacheMonitorTests {
+
+    @Autowired
+    private EmployeeCacheMonitor cacheMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void employeeRegionUsesApplicationConf() {
+        CaffeineConfiguration<?, ?> configuration = cacheMonitor.configuration();
+
+        assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(10000));
+        assertThat(configuration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofMinutes(10).toNanos()));
+    }
+
+    @Test
+    void hitsAndMissesArePublished() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", EmployeeCacheMonitor.REGION).tag("result", "hit").meter())
+                .isNotNull();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", EmployeeCacheMonitor.REGION).tag("result", "miss").meter())
+                .isNotNull();
+    }
+}
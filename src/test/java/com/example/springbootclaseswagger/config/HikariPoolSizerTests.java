@@ -0,0 +1,141 @@
+package com.example.springbootclaseswagger.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HikariPoolSizerTests {
+
+    private static final String POOL = "test-pool";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+    private final HikariConfig config = new HikariConfig(); // también es el HikariConfigMXBean del pool
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void pool() {
+        config.setPoolName(POOL);
+        dataSource = mock(HikariDataSource.class);
+        when(dataSource.getPoolName()).thenReturn(POOL);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getHikariConfigMXBean()).thenReturn(config);
+    }
+
+    @Test
+    void growsByTheWaitingThreadsOrTheStep() {
+        HikariPoolSizer sizer = sizer(4, 40, 2, 3);
+        config.setMaximumPoolSize(10);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(15);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(1);
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(17);
+    }
+
+    @Test
+    void growsOnTimeoutsAndSlowAcquires() {
+        HikariPoolSizer sizer = sizer(4, 40, 2, 3);
+        config.setMaximumPoolSize(10);
+
+        meterRegistry.counter("hikaricp.connections.timeout", "pool", POOL).increment();
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+
+        sizer.resize(); // el timeout ya se contó en la comprobación anterior
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+
+        meterRegistry.timer("hikaricp.connections.acquire", "pool", POOL).record(Duration.ofMillis(50));
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(14);
+    }
+
+    @Test
+    void neverGrowsAboveMaxSize() {
+        HikariPoolSizer sizer = sizer(4, 12, 2, 3);
+        config.setMaximumPoolSize(10);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(8);
+
+        sizer.resize();
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+    }
+
+    @Test
+    void shrinksAfterQuietChecksDownToMinSize() {
+        HikariPoolSizer sizer = sizer(4, 40, 2, 3);
+        config.setMaximumPoolSize(7);
+
+        sizer.resize();
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(7);
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(5);
+
+        for (int i = 0; i < 3; i++)
+            sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(4);
+        for (int i = 0; i < 3; i++)
+            sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    void busyOrWaitingChecksRestartTheQuietCount() {
+        HikariPoolSizer sizer = sizer(4, 40, 2, 3);
+        config.setMaximumPoolSize(10);
+
+        sizer.resize();
+        sizer.resize();
+        when(pool.getActiveConnections()).thenReturn(5); // la mitad del pool en uso
+        sizer.resize();
+        when(pool.getActiveConnections()).thenReturn(0);
+        sizer.resize();
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(1);
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+        sizer.resize();
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+    }
+
+    @Test
+    void poolThatHasNotStartedIsSkipped() {
+        HikariPoolSizer sizer = sizer(4, 40, 2, 3);
+        config.setMaximumPoolSize(10);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+        sizer.resize();
+        assertThat(config.getMaximumPoolSize()).isEqualTo(10);
+    }
+
+    @Test
+    void invalidBoundsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> sizer(0, 40, 2, 3));
+        assertThatIllegalArgumentException().isThrownBy(() -> sizer(10, 4, 2, 3));
+    }
+
+    private HikariPoolSizer sizer(int minSize, int maxSize, int step, int shrinkAfter) {
+        return new HikariPoolSizer(dataSource, meterRegistry, minSize, maxSize, step, Duration.ofMillis(10), shrinkAfter);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springbootclaseswagger.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReadWriteRoutingDataSourceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+    private final HikariDataSource replica = mock(HikariDataSource.class);
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void pools() throws SQLException {
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), meterRegistry);
+        clearInvocations(primary, replica); // al construirse lee autocommit y aislamiento por defecto del primario
+    }
+
+    @AfterEach
+    void noTransaction() {
+        setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+        routing.updateReplicaLag(4.9);
+
+        use(routing.getConnection());
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+        assertThat(routed("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void readsGoToThePrimaryWhenTheReplicaLags() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+        routing.updateReplicaLag(5.1);
+
+        use(routing.getConnection());
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+
+        routing.updateReplicaLag(Double.POSITIVE_INFINITY); // no se pudo medir
+        use(routing.getConnection());
+        verify(replica, never()).getConnection();
+        assertThat(meterRegistry.get("employees.datasource.replica.lag").gauge().value()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        routing.updateReplicaLag(0);
+
+        use(routing.getConnection());
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+        assertThat(routed("replica")).isZero();
+    }
+
+    @Test
+    void connectionIsOnlyRequestedOnTheFirstStatement() throws SQLException {
+        setCurrentTransactionReadOnly(true);
+
+        Connection connection = routing.getConnection();
+        verify(replica, never()).getConnection();
+        verify(primary, never()).getConnection();
+
+        use(connection);
+        verify(replica).getConnection();
+    }
+
+    // la conexión física se pide con la primera sentencia
+    private static void use(Connection connection) throws SQLException {
+        connection.createStatement();
+        connection.close();
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("employees.datasource.routing").tag("target", target).counter().count();
+    }
+}
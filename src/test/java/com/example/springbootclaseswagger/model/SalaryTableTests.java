@@ -0,0 +1,59 @@
+package com.example.springbootclaseswagger.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SalaryTableTests {
+
+    @Test
+    void salaryIsTheOneOfTheBracketContainingTheYears() {
+        SalaryTable table = SalaryTable.parse("0:24000,5:40000,20:60000");
+
+        assertThat(table.salaryFor(0)).isEqualTo(24000);
+        assertThat(table.salaryFor(4)).isEqualTo(24000);
+        assertThat(table.salaryFor(5)).isEqualTo(40000);
+        assertThat(table.salaryFor(19)).isEqualTo(40000);
+        assertThat(table.salaryFor(20)).isEqualTo(60000);
+        assertThat(table.salaryFor(45)).isEqualTo(60000);
+    }
+
+    @Test
+    void noSalaryBelowTheFirstBracket() {
+        SalaryTable table = SalaryTable.parse("5:40000,20:60000");
+
+        assertThat(table.salaryFor(4)).isNaN();
+        assertThat(table.salaryFor(-1)).isNaN();
+        assertThat(table.salaryFor(5)).isEqualTo(40000);
+    }
+
+    @Test
+    void unsortedBracketsAreSorted() {
+        SalaryTable table = SalaryTable.parse(" 20 : 60000, 0:24000 ,5:40000.5");
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.fromYears(0)).isEqualTo(0);
+        assertThat(table.fromYears(1)).isEqualTo(5);
+        assertThat(table.fromYears(2)).isEqualTo(20);
+        assertThat(table.salary(0)).isEqualTo(24000);
+        assertThat(table.salary(1)).isEqualTo(40000.5);
+        assertThat(table.salary(2)).isEqualTo(60000);
+        assertThat(table.salaryFor(7)).isEqualTo(40000.5);
+    }
+
+    @Test
+    void malformedBracketsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse("0:24000,5"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse("0:24000:1"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse("0:24000,five:40000"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse("0:lots"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse(""));
+    }
+
+    @Test
+    void duplicatedBracketsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SalaryTable.parse("0:24000,5:40000,5:41000"))
+                .withMessageContaining("5 years");
+    }
+}
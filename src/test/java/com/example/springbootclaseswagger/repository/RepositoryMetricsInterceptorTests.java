@@ -0,0 +1,72 @@
+package com.example.springbootclaseswagger.repository;
+
+import com.example.springbootclaseswagger.model.Employee;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetricsInterceptorTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepositoryMetricsInterceptor interceptor;
+
+    @SuppressWarnings("unchecked") // mock de un tipo genérico
+    RepositoryMetricsInterceptorTests() {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(meterRegistry);
+        interceptor = new RepositoryMetricsInterceptor(provider, new SqlStatementCollector(), Duration.ofDays(1));
+    }
+
+    @Test
+    void existsCountsAsZeroOrOneRow() throws Throwable {
+        call(EmployeeRepository.class.getMethod("existsByEmail", String.class), true);
+        call(EmployeeRepository.class.getMethod("existsByEmail", String.class), false);
+
+        DistributionSummary rows = rows("existsByEmail");
+        assertThat(rows.count()).isEqualTo(2);
+        assertThat(rows.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsAreNotRows() throws Throwable {
+        call(EmployeeRepository.class.getMethod("count"), 42L);
+
+        assertThat(meterRegistry.find("employees.repository.rows").tag("method", "count").summary()).isNull();
+        assertThat(meterRegistry.get("employees.repository").tag("method", "count").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void resultsAndModifiedRowsAreCounted() throws Throwable {
+        call(EmployeeRepository.class.getMethod("findAll"), List.of(new Employee(), new Employee(), new Employee()));
+        call(EmployeeRepository.class.getMethod("findById", Object.class), Optional.empty());
+        call(EmployeeRepository.class.getMethod("deleteEmployees", Boolean.class, Integer.class), 7);
+
+        assertThat(rows("findAll").totalAmount()).isEqualTo(3);
+        assertThat(rows("findById").totalAmount()).isZero();
+        assertThat(rows("deleteEmployees").totalAmount()).isEqualTo(7);
+    }
+
+    private void call(Method method, Object result) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getArguments()).thenReturn(new Object[0]);
+        when(invocation.proceed()).thenReturn(result);
+        interceptor.invoke(invocation);
+    }
+
+    private DistributionSummary rows(String method) {
+        return meterRegistry.get("employees.repository.rows").tag("method", method).summary();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springbootclaseswagger.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SalaryPolicyTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void countriesWithoutTableUseTheDefaultOne() throws IOException {
+        SalaryPolicy policy = policy("default=0:24000,5:40000\nSpain=0:22000,5:38000\nFondo\\ de\\ Bikini=10:90000\n");
+
+        assertThat(policy.salaryFor("Spain", 6)).isEqualTo(38000);
+        assertThat(policy.salaryFor("Fondo de Bikini", 10)).isEqualTo(90000);
+        assertThat(policy.salaryFor("Fondo de Bikini", 9)).isNaN();
+        assertThat(policy.salaryFor("France", 6)).isEqualTo(40000);
+        assertThat(policy.salaryFor(null, 6)).isEqualTo(40000);
+        assertThat(policy.countryTables()).containsOnlyKeys("Spain", "Fondo de Bikini");
+    }
+
+    @Test
+    void defaultTableIsRequired() {
+        assertThatIllegalArgumentException().isThrownBy(() -> policy("Spain=0:22000\n"))
+                .withMessageContaining("default");
+    }
+
+    @Test
+    void reloadsWhenTheFileChanges() throws IOException {
+        SalaryPolicy policy = policy("default=0:24000\n");
+
+        policy.reloadIfModified();
+        assertThat(policy.salaryFor("Spain", 3)).isEqualTo(24000);
+
+        write("default=0:25000\nSpain=0:23000\n", 1);
+        policy.reloadIfModified();
+        assertThat(policy.salaryFor("Spain", 3)).isEqualTo(23000);
+        assertThat(policy.salaryFor("France", 3)).isEqualTo(25000);
+    }
+
+    @Test
+    void keepsThePreviousPolicyWhenTheNewOneIsInvalid() throws IOException {
+        SalaryPolicy policy = policy("default=0:24000\n");
+
+        write("default=0:25000,0:26000\n", 1);
+        policy.reloadIfModified();
+        assertThat(policy.salaryFor(null, 3)).isEqualTo(24000);
+
+        write("default=0:27000\n", 2);
+        policy.reloadIfModified();
+        assertThat(policy.salaryFor(null, 3)).isEqualTo(27000);
+    }
+
+    private SalaryPolicy policy(String content) throws IOException {
+        write(content, 0);
+        return new SalaryPolicy(new FileSystemResource(directory.resolve("salary-policy.properties")));
+    }
+
+    // la fecha de modificación avanza a mano: dos escrituras seguidas pueden tener la misma
+    private void write(String content, int change) throws IOException {
+        Path file = Files.writeString(directory.resolve("salary-policy.properties"), content);
+        file.toFile().setLastModified(1_600_000_000_000L + change * 60_000L);
+    }
+}